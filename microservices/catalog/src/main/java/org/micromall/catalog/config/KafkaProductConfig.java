@@ -0,0 +1,49 @@
+package org.micromall.catalog.config;
+
+import java.util.Map;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.micromall.catalog.kafka.ProductChangedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+@Configuration
+public class KafkaProductConfig {
+
+    @Value("${kafka.product.topic}")
+    private String topic;
+
+    @Bean
+    public NewTopic productTopic() {
+        return TopicBuilder
+                .name(topic)
+                .build();
+    }
+
+    @Bean
+    public ProducerFactory<String, ProductChangedEvent> productProducerFactory(
+            KafkaProperties kafkaProperties,
+            ObjectProvider<SslBundles> sslBundles) {
+        Map<String, Object> properties = kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable());
+        JsonSerializer<ProductChangedEvent> serializer = new JsonSerializer<>();
+        serializer.setAddTypeInfo(false);
+        return new DefaultKafkaProducerFactory<>(properties, new StringSerializer(), serializer);
+    }
+
+    @Bean
+    public KafkaTemplate<String, ProductChangedEvent> productKafkaTemplate(
+            ProducerFactory<String, ProductChangedEvent> productProducerFactory) {
+        return new KafkaTemplate<>(productProducerFactory);
+    }
+
+}
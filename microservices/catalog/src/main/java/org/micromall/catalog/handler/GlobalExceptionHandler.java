@@ -4,9 +4,11 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.http.ResponseEntity;
+import org.micromall.catalog.exception.MyBadRequestException;
 import org.micromall.catalog.exception.MyNotDeleteException;
 import org.micromall.catalog.exception.MyNotFoundException;
 import org.micromall.catalog.exception.MyNotSaveException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -59,4 +61,20 @@ public class GlobalExceptionHandler {
     public ResponseEntity<MyErrorResponse> handleMyNotDeleteException(MyNotDeleteException ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getResponse());
     }
+
+    // Handle MyBadRequestException
+    @ExceptionHandler(MyBadRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<MyErrorResponse> handleMyBadRequestException(MyBadRequestException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getResponse());
+    }
+
+    // Handle concurrent updates of the same entity
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<MyErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(MyErrorResponse.builder()
+                .message("The resource was modified concurrently, reload it and retry")
+                .build());
+    }
 }
@@ -0,0 +1,15 @@
+package org.micromall.catalog.kafka;
+
+import org.micromall.catalog.utils.MyMoney;
+
+import lombok.Builder;
+
+// Published when the price or title of a product changes, or when it is deleted
+@Builder
+public record ProductChangedEvent(
+    Long productId,
+    MyMoney price,
+    Boolean deleted
+) {
+
+}
@@ -0,0 +1,31 @@
+package org.micromall.catalog.kafka;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductEventProducer {
+
+    @Value("${kafka.product.topic}")
+    private String topic;
+
+    private final KafkaTemplate<String, ProductChangedEvent> kafkaTemplate;
+
+    public void sendProductChanged(ProductChangedEvent event) {
+        log.debug("Sending product changed event {}", event);
+        // Key by product so the changes of a product stay ordered
+        kafkaTemplate.send(topic, String.valueOf(event.productId()), event)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.error("Product changed event {} not sent", event, ex);
+                    }
+                });
+    }
+
+}
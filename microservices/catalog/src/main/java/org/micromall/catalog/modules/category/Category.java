@@ -3,12 +3,16 @@ package org.micromall.catalog.modules.category;
 import java.util.List;
 import java.util.Objects;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.micromall.catalog.modules.product.Product;
 import org.micromall.catalog.utils.MyEntity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -21,7 +25,12 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 @SuperBuilder
 @Entity
-@Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.category")
+@Table(name = "categories", indexes = {
+        @Index(name = "idx_categories_title_id", columnList = "title, id"),
+        @Index(name = "idx_categories_updated_at", columnList = "updated_at")
+})
 public class Category extends MyEntity {
 
     private String title;
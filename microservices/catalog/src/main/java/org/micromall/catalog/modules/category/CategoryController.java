@@ -1,11 +1,15 @@
 package org.micromall.catalog.modules.category;
 
+import java.util.HashMap;
 import java.util.Map;
 
+import org.micromall.catalog.utils.MyCursor;
+import org.micromall.catalog.utils.MyEntityTag;
 import org.micromall.catalog.utils.MyResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,6 +20,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -50,7 +55,12 @@ public class CategoryController {
 
     // Endpoint to fetch a category by ID
     @GetMapping("/api/v1/category/{id}")
-    public ResponseEntity<MyResponse> getCategory(@PathVariable Long id) {
+    public ResponseEntity<MyResponse> getCategory(@PathVariable Long id, WebRequest webRequest) {
+        // Answer 304 before mapping the category, the ETag and Last-Modified headers are set either way
+        MyEntityTag tag = categoryService.fetchTag(id);
+        if (webRequest.checkNotModified(tag.etag(), tag.lastModified())) {
+            return null;
+        }
         CategoryDTO categoryDTO = categoryService.fetchById(id);
         return ResponseEntity.ok(MyResponse.builder()
                 .message("Category fetched successfully")
@@ -82,7 +92,14 @@ public class CategoryController {
             @RequestParam(defaultValue = "5") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "desc") String orderBy,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            WebRequest webRequest) {
+
+        // Answer 304 before reading the page when the listing did not change
+        if (search == null
+                && webRequest.checkNotModified(categoryService.fetchListTag().etag(page, size, sortBy, orderBy))) {
+            return null;
+        }
 
         // Create a pageable object
         Pageable pageable = PageRequest.of(page - 1, size, Sort.Direction.valueOf(orderBy.toUpperCase()), sortBy);
@@ -108,4 +125,27 @@ public class CategoryController {
                 .meta(meta)
                 .build());
     }
+
+    // Endpoint to fetch categories by title with a keyset cursor, pass the returned "next" as "cursor"
+    @GetMapping("/api/v1/categories/scroll")
+    public ResponseEntity<MyResponse> scrollCategories(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        Slice<CategoryDTO> categories = categoryService.scroll(cursor, Math.clamp(size, 1, 100));
+
+        // Create a meta object
+        Map<String, Object> meta = new HashMap<>();
+        meta.put("size", categories.getNumberOfElements());
+        meta.put("hasNext", categories.hasNext());
+        if (categories.hasNext()) {
+            CategoryDTO last = categories.getContent().getLast();
+            meta.put("next", new MyCursor(last.getTitle(), last.getId()).encode());
+        }
+
+        return ResponseEntity.ok(MyResponse.builder()
+                .message("Categories fetched successfully")
+                .data(categories.getContent())
+                .meta(meta)
+                .build());
+    }
 }
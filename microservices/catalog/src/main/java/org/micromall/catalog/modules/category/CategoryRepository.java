@@ -1,18 +1,55 @@
 package org.micromall.catalog.modules.category;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.jpa.AvailableHints;
+import org.micromall.catalog.utils.MyListTag;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+    // Category list served from the query cache, invalidated by any category write
+    @Override
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "catalog.category-list")
+    })
+    List<Category> findAll();
+
+    // Row count and latest update, the validator of category listings, served from the query cache
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "catalog.category-list-tag")
+    })
+    @Query("SELECT new org.micromall.catalog.utils.MyListTag(COUNT(c), MAX(c.updatedAt)) FROM Category c")
+    MyListTag findListTag();
+
+    // Categories referenced by an import chunk, by id or by title
+    List<Category> findAllByIdInOrTitleIn(Collection<Long> ids, Collection<String> titles);
+
     boolean existsByTitle(String title);
 
     boolean existsByTitleAndIdNot(String title, Long id);
 
+    // First keyset page of categories by title, served by the (title, id) index
+    @Query("SELECT c FROM Category c ORDER BY c.title, c.id")
+    List<Category> findScrollFirst(Limit limit);
+
+    // Keyset page of categories after the given cursor, no OFFSET and no COUNT
+    @Query("SELECT c FROM Category c WHERE (c.title, c.id) > (:title, :id) ORDER BY c.title, c.id")
+    List<Category> findScrollAfter(@Param("title") String title, @Param("id") Long id, Limit limit);
+
     // Query method to search categories by title or description
     @Query("SELECT c FROM Category c WHERE c.title LIKE %?1% OR c.description LIKE %?1%")
     Page<Category> search(String keyword, Pageable pageable);
@@ -1,16 +1,25 @@
 package org.micromall.catalog.modules.category;
 
 import java.util.List;
+import java.util.Objects;
 
 import org.micromall.catalog.exception.MyAlreadyExists;
+import org.micromall.catalog.exception.MyBadRequestException;
 import org.micromall.catalog.exception.MyNotDeleteException;
 import org.micromall.catalog.exception.MyNotFoundException;
 import org.micromall.catalog.exception.MyNotSaveException;
 import org.micromall.catalog.interfaces.IDaoService;
+import org.micromall.catalog.modules.product.ProductRepository;
+import org.micromall.catalog.utils.MyCursor;
+import org.micromall.catalog.utils.MyEntityTag;
+import org.micromall.catalog.utils.MyListTag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
@@ -23,6 +32,7 @@ public class CategoryService implements IDaoService<Category, CategoryDTO, Categ
     private static final Logger logger = LoggerFactory.getLogger(CategoryService.class);
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final ProductRepository productRepository;
 
     @Override
     public CategoryDTO create(CategoryRequest request) throws MyNotSaveException, MyAlreadyExists {
@@ -53,11 +63,16 @@ public class CategoryService implements IDaoService<Category, CategoryDTO, Categ
             logger.error("Category title already exists");
             throw new MyAlreadyExists("Category title already exists", "title");
         }
+        // Products index the category title in their search document
+        boolean titleChanged = !Objects.equals(category.getTitle(), request.title());
         // Update the category
         category.setTitle(request.title());
         category.setDescription(request.description());
         // Save the category
         category = categoryRepository.save(category);
+        if (titleChanged) {
+            productRepository.refreshSearchVectorsByCategory(id);
+        }
         // Return the category DTO
         return categoryMapper.toDTO(category);
     }
@@ -71,6 +86,18 @@ public class CategoryService implements IDaoService<Category, CategoryDTO, Categ
         return categoryMapper.toDTO(category);
     }
 
+    // Validator of one category, read from the second-level cache without mapping the DTO
+    public MyEntityTag fetchTag(Long id) throws MyNotFoundException {
+        Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> new MyNotFoundException("Category not found"));
+        return MyEntityTag.of(category);
+    }
+
+    // Validator of the category listings
+    public MyListTag fetchListTag() {
+        return categoryRepository.findListTag();
+    }
+
     @Override
     public void delete(Long id) throws MyNotDeleteException {
         // Fetch the category by id
@@ -96,6 +123,21 @@ public class CategoryService implements IDaoService<Category, CategoryDTO, Categ
         return categories.map(categoryMapper::toDTO);
     }
 
+    // Keyset page of categories by title, without a count query
+    public Slice<CategoryDTO> scroll(String cursor, int size) throws MyBadRequestException {
+        // Read one extra row to know whether another page follows
+        List<Category> categories;
+        if (cursor == null) {
+            categories = categoryRepository.findScrollFirst(Limit.of(size + 1));
+        } else {
+            MyCursor position = MyCursor.decode(cursor);
+            categories = categoryRepository.findScrollAfter(position.sortKey(), position.id(), Limit.of(size + 1));
+        }
+        boolean hasNext = categories.size() > size;
+        List<CategoryDTO> content = categoryMapper.toDTOList(categories.subList(0, Math.min(size, categories.size())));
+        return new SliceImpl<>(content, Pageable.ofSize(size), hasNext);
+    }
+
     @Override
     public Page<CategoryDTO> search(String keyword, Pageable pageable) {
         // Search for categories by title
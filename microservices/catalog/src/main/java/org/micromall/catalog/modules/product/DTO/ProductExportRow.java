@@ -0,0 +1,26 @@
+package org.micromall.catalog.modules.product.DTO;
+
+import org.micromall.catalog.utils.MyMoney;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductExportRow {
+    private Long id;
+    private String sku;
+    private String title;
+    private String description;
+    private MyMoney price;
+    private Long categoryId;
+    private String categoryTitle;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
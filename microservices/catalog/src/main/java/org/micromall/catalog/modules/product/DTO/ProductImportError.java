@@ -0,0 +1,16 @@
+package org.micromall.catalog.modules.product.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductImportError {
+    private Long line;
+    private String sku;
+    private String error;
+}
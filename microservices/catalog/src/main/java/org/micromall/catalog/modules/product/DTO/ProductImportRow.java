@@ -0,0 +1,22 @@
+package org.micromall.catalog.modules.product.DTO;
+
+import org.micromall.catalog.utils.MyMoney;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One product of an import feed, the category is given by id or by title
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductImportRow {
+    private String sku;
+    private String title;
+    private String description;
+    private MyMoney price;
+    private Long categoryId;
+    private String category;
+}
@@ -1,5 +1,7 @@
 package org.micromall.catalog.modules.product.DTO;
 
+import org.micromall.catalog.utils.MyMoney;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,5 +14,6 @@ import lombok.NoArgsConstructor;
 public class PurchaseProducts {
     private Long id;
     private String title;
-    private Double price;
+    private MyMoney price;
+    private Long priceVersion;
 }
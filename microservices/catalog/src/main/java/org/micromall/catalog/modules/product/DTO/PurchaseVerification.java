@@ -0,0 +1,18 @@
+package org.micromall.catalog.modules.product.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Products whose price version moved, with their current data, and products that no longer exist
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PurchaseVerification {
+    private List<PurchaseProducts> changed;
+    private List<Long> missing;
+}
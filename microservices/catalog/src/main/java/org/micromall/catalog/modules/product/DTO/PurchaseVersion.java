@@ -0,0 +1,16 @@
+package org.micromall.catalog.modules.product.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Price version of a product as last seen by a client
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PurchaseVersion {
+    private Long id;
+    private Long priceVersion;
+}
@@ -1,13 +1,21 @@
 package org.micromall.catalog.modules.product;
 import java.util.Objects;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.micromall.catalog.modules.category.Category;
 import org.micromall.catalog.utils.MyEntity;
+import org.micromall.catalog.utils.MyMoney;
 
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,14 +26,27 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 @SuperBuilder
 @Entity
-@Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.product")
+@Table(name = "products",
+        indexes = {
+                @Index(name = "idx_products_created_at_id", columnList = "created_at, id"),
+                // MAX(updated_at) of the listing validator is read from the end of this index
+                @Index(name = "idx_products_updated_at", columnList = "updated_at")
+        },
+        uniqueConstraints = @UniqueConstraint(name = "uk_products_sku", columnNames = "sku"))
 public class Product extends MyEntity {
 
+    // Natural key of the supplier feeds, products created one by one may have none
+    private String sku;
     private String title;
     private String description;
-    private Double price;
+    @Column(precision = 19, scale = 2)
+    private MyMoney price;
+    // Incremented on each price change, the price history keeps one row per version
+    private Long priceVersion;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
@@ -34,6 +55,7 @@ public class Product extends MyEntity {
     public String toString() {
         return "Product{" +
                 "id=" + id +
+                ", sku='" + sku + '\'' +
                 ", title='" + title + '\'' +
                 ", description='" + description + '\'' +
                 ", price=" + price +
@@ -1,12 +1,26 @@
 package org.micromall.catalog.modules.product;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.micromall.catalog.modules.product.DTO.ProductImportResult;
+import org.micromall.catalog.modules.product.DTO.ProductSuggestion;
 import org.micromall.catalog.modules.product.DTO.PurchaseProducts;
+import org.micromall.catalog.modules.product.DTO.PurchaseVerification;
+import org.micromall.catalog.modules.product.DTO.PurchaseVersion;
+import org.micromall.catalog.utils.MyCursor;
+import org.micromall.catalog.utils.MyEntityTag;
+import org.micromall.catalog.utils.MyResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,7 +30,10 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -24,7 +41,11 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ProductController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     private final ProductService productService;
+    private final ProductExportService productExportService;
+    private final ProductImportService productImportService;
 
     // Endpoint to create a new products
     @PostMapping("/api/v1/product")
@@ -49,7 +70,12 @@ public class ProductController {
 
     // Fetch product by id
     @GetMapping("/api/v1/product/{id}")
-    public ResponseEntity<ProductDTO> fetch(@PathVariable Long id) {
+    public ResponseEntity<ProductDTO> fetch(@PathVariable Long id, WebRequest webRequest) {
+        // Answer 304 before mapping the product, the ETag and Last-Modified headers are set either way
+        MyEntityTag tag = productService.fetchTag(id);
+        if (webRequest.checkNotModified(tag.etag(), tag.lastModified())) {
+            return null;
+        }
         ProductDTO product = productService.fetchById(id);
         return ResponseEntity.status(HttpStatus.OK).body(product);
     }
@@ -61,16 +87,95 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.OK).body(products);
     }
 
+    // Stream the whole catalog as a JSON array or as CSV
+    @GetMapping("/api/v1/products/export")
+    public void export(@RequestParam(defaultValue = "json") String format, HttpServletResponse response)
+            throws IOException {
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        if ("csv".equalsIgnoreCase(format)) {
+            response.setContentType("text/csv");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.csv\"");
+            productExportService.exportCsv(response.getOutputStream());
+        } else {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            productExportService.exportJson(response.getOutputStream());
+        }
+    }
+
+    // Bulk upsert products keyed by SKU from a CSV or NDJSON feed, invalid rows are reported
+    @PostMapping(value = "/api/v1/products/import", consumes = { "text/csv", "application/x-ndjson" })
+    public ResponseEntity<MyResponse> importProducts(HttpServletRequest request) throws IOException {
+        ProductImportResult result = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(TEXT_CSV)
+                ? productImportService.importCsv(request.getInputStream())
+                : productImportService.importNdjson(request.getInputStream());
+        return ResponseEntity.ok(MyResponse.builder()
+                .message("Products imported")
+                .data(result)
+                .build());
+    }
+
     // Fetch page of products
     @GetMapping("/api/v1/products")
     public ResponseEntity<Page<ProductDTO>> fetchPage(
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "5") int size) {
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(required = false) String search,
+            WebRequest webRequest) {
+        // Answer 304 before reading the page when the listing did not change
+        if (search == null && webRequest.checkNotModified(productService.fetchListTag().etag(page, size))) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page - 1, size);
-        Page<ProductDTO> products = productService.fetchAll(pageable);
+        // Search results are ranked by relevance
+        Page<ProductDTO> products = search == null
+                ? productService.fetchAll(pageable)
+                : productService.search(search, pageable);
         return ResponseEntity.status(HttpStatus.OK).body(products);
     }
 
+    // Fetch products with a keyset cursor, pass the returned "next" as "cursor" for the following page
+    @GetMapping("/api/v1/products/scroll")
+    public ResponseEntity<MyResponse> scroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        Slice<ProductDTO> products = productService.scroll(cursor, Math.clamp(size, 1, 100));
+
+        // Create a meta object
+        Map<String, Object> meta = new HashMap<>();
+        meta.put("size", products.getNumberOfElements());
+        meta.put("hasNext", products.hasNext());
+        if (products.hasNext()) {
+            ProductDTO last = products.getContent().getLast();
+            meta.put("next", new MyCursor(last.getCreatedAt().toString(), last.getId()).encode());
+        }
+
+        return ResponseEntity.ok(MyResponse.builder()
+                .message("Products fetched successfully")
+                .data(products.getContent())
+                .meta(meta)
+                .build());
+    }
+
+    // Type-ahead suggestions on product titles
+    @GetMapping("/api/v1/products/suggest")
+    public ResponseEntity<List<ProductSuggestion>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.status(HttpStatus.OK).body(productService.suggest(q, Math.clamp(limit, 1, 50)));
+    }
+
+    // Purchase data for a JSON array of product ids, duplicates are ignored
+    @PostMapping("/api/v1/products/purchase")
+    public ResponseEntity<List<PurchaseProducts>> purchaseProducts(@RequestBody long[] ids) {
+        return ResponseEntity.status(HttpStatus.OK).body(productService.purchaseProducts(ids));
+    }
+
+    // Verify the price versions a client holds, the changed and missing products are returned
+    @PostMapping("/api/v1/products/purchase/verify")
+    public ResponseEntity<PurchaseVerification> verifyPurchaseProducts(@RequestBody List<PurchaseVersion> versions) {
+        return ResponseEntity.status(HttpStatus.OK).body(productService.verifyPurchaseProducts(versions));
+    }
+
     // GetMapping for purchase products
     @GetMapping("/api/v1/products/purchase")
     public ResponseEntity<List<PurchaseProducts>> fetchPurchaseProducts(@RequestParam List<Long> ids) {
@@ -3,6 +3,7 @@ package org.micromall.catalog.modules.product;
 import java.time.LocalDateTime;
 
 import org.micromall.catalog.modules.category.CategoryDTO;
+import org.micromall.catalog.utils.MyMoney;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,9 +16,11 @@ import lombok.NoArgsConstructor;
 @Builder
 public class ProductDTO {
     private Long id;
+    private String sku;
     private String title;
     private String description;
-    private Double price;
+    private MyMoney price;
+    private Long priceVersion;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private CategoryDTO category;
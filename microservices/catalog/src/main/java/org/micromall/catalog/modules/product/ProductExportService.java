@@ -0,0 +1,114 @@
+package org.micromall.catalog.modules.product;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import org.micromall.catalog.modules.product.DTO.ProductExportRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Exports the whole catalog without materializing it. Rows are read through a
+ * server-side cursor as DTO projections joined with their category, so the
+ * persistence context stays empty, and each row is written to the response
+ * as soon as it is read.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductExportService {
+
+    // Logger
+    Logger logger = LoggerFactory.getLogger(getClass().getName());
+
+    private static final String CSV_HEADER = "id,sku,title,description,price,categoryId,categoryTitle,createdAt,updatedAt";
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+
+    // The stream holds an open cursor, it must be consumed inside the transaction
+    @Transactional(readOnly = true)
+    public long exportJson(OutputStream output) throws IOException {
+        long count = 0;
+        // Let the generator buffer rows instead of flushing the response after each one
+        ObjectWriter rowWriter = objectMapper.writerFor(ProductExportRow.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<ProductExportRow> rows = productRepository.streamExportRows();
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            for (ProductExportRow row : (Iterable<ProductExportRow>) rows::iterator) {
+                rowWriter.writeValue(generator, row);
+                count++;
+            }
+            generator.writeEndArray();
+        }
+        logger.info("Exported {} products as JSON", count);
+        return count;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportCsv(OutputStream output) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        try (Stream<ProductExportRow> rows = productRepository.streamExportRows()) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            for (ProductExportRow row : (Iterable<ProductExportRow>) rows::iterator) {
+                writeCsvRow(writer, row);
+                count++;
+            }
+        }
+        writer.flush();
+        logger.info("Exported {} products as CSV", count);
+        return count;
+    }
+
+    private static void writeCsvRow(Writer writer, ProductExportRow row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writeCsvField(writer, row.getSku());
+        writer.write(',');
+        writeCsvField(writer, row.getTitle());
+        writer.write(',');
+        writeCsvField(writer, row.getDescription());
+        writer.write(',');
+        writer.write(row.getPrice() == null ? "" : row.getPrice().toString());
+        writer.write(',');
+        writer.write(String.valueOf(row.getCategoryId()));
+        writer.write(',');
+        writeCsvField(writer, row.getCategoryTitle());
+        writer.write(',');
+        writer.write(row.getCreatedAt() == null ? "" : row.getCreatedAt().toString());
+        writer.write(',');
+        writer.write(row.getUpdatedAt() == null ? "" : row.getUpdatedAt().toString());
+        writer.write('\n');
+    }
+
+    // Quote fields holding a separator, a quote or a line break (RFC 4180)
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,337 @@
+package org.micromall.catalog.modules.product;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.micromall.catalog.exception.MyBadRequestException;
+import org.micromall.catalog.kafka.ProductChangedEvent;
+import org.micromall.catalog.kafka.ProductEventProducer;
+import org.micromall.catalog.modules.category.Category;
+import org.micromall.catalog.modules.category.CategoryRepository;
+import org.micromall.catalog.modules.product.DTO.ProductImportError;
+import org.micromall.catalog.modules.product.DTO.ProductImportResult;
+import org.micromall.catalog.modules.product.DTO.ProductImportRow;
+import org.micromall.catalog.modules.product.ProductJdbcRepository.ProductImportState;
+import org.micromall.catalog.modules.product.ProductJdbcRepository.ProductUpsert;
+import org.micromall.catalog.utils.MyCsvReader;
+import org.micromall.catalog.utils.MyMoney;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Imports a supplier feed (CSV or NDJSON) of products keyed by SKU. The input
+ * is read incrementally and handled in chunks: the categories of a chunk are
+ * resolved in one query (and remembered for the next chunks), the chunk is
+ * upserted in one JDBC batch, and invalid rows are reported without stopping
+ * the import. When a batch is rejected by the database its rows are retried
+ * one by one to isolate the failing ones.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductImportService {
+
+    // Logger
+    Logger logger = LoggerFactory.getLogger(getClass().getName());
+
+    private static final int MAX_LISTED_ERRORS = 1000;
+
+    private final ProductJdbcRepository productJdbcRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductSuggestionIndex productSuggestionIndex;
+    private final ProductEventProducer productEventProducer;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${catalog.import.chunk-size:1000}")
+    private int chunkSize;
+
+    // CSV with a header line naming the columns: sku, title, description, price, categoryId, category
+    public ProductImportResult importCsv(InputStream input) throws IOException {
+        ImportRun run = new ImportRun();
+        MyCsvReader reader = new MyCsvReader(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new MyBadRequestException("The CSV input has no header line");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("sku")) {
+            throw new MyBadRequestException("The CSV header has no sku column", "sku");
+        }
+
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            long line = reader.recordLine();
+            try {
+                run.add(line, ProductImportRow.builder()
+                        .sku(field(record, columns, "sku"))
+                        .title(field(record, columns, "title"))
+                        .description(field(record, columns, "description"))
+                        .price(MyMoney.parse(field(record, columns, "price")))
+                        .categoryId(parseLong(field(record, columns, "categoryid")))
+                        .category(field(record, columns, "category"))
+                        .build(), null);
+            } catch (IllegalArgumentException e) {
+                // NumberFormatException included, prices with more than two decimals are rejected as well
+                run.add(line, null, "Invalid number: " + e.getMessage());
+            }
+        }
+        return run.finish();
+    }
+
+    // One JSON product per line
+    public ProductImportResult importNdjson(InputStream input) throws IOException {
+        ImportRun run = new ImportRun();
+        ObjectReader rowReader = objectMapper.readerFor(ProductImportRow.class);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String text;
+        long line = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                run.add(line, rowReader.readValue(text), null);
+            } catch (JsonProcessingException e) {
+                run.add(line, null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+        return run.finish();
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Long parseLong(String value) {
+        return value == null ? null : Long.valueOf(value);
+    }
+
+    private record ParsedRow(long line, ProductImportRow row, String error) {
+    }
+
+    // State of one import: the pending chunk, the known categories and the running totals
+    private class ImportRun {
+
+        private final long start = System.currentTimeMillis();
+        private final ProductImportResult result = new ProductImportResult();
+        private final List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+        private final Map<Long, Category> categoriesById = new HashMap<>();
+        private final Map<String, Category> categoriesByTitle = new HashMap<>();
+
+        void add(long line, ProductImportRow row, String error) {
+            result.setReceived(result.getReceived() + 1);
+            chunk.add(new ParsedRow(line, row, error));
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        ProductImportResult finish() {
+            flush();
+            result.setDurationMs(System.currentTimeMillis() - start);
+            logger.info("Imported {} products: {} created, {} updated, {} unchanged, {} failed in {} ms",
+                    result.getReceived(), result.getCreated(), result.getUpdated(), result.getUnchanged(),
+                    result.getFailed(), result.getDurationMs());
+            return result;
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            resolveCategories();
+
+            // Validate the rows, the last occurrence of a SKU in the chunk wins
+            Map<String, ProductUpsert> upserts = new LinkedHashMap<>();
+            for (ParsedRow parsed : chunk) {
+                if (parsed.error() != null) {
+                    fail(parsed.line(), null, parsed.error());
+                    continue;
+                }
+                ProductImportRow row = parsed.row();
+                String error = validate(row);
+                Category category = error == null ? category(row) : null;
+                if (error == null && category == null) {
+                    error = "Category not found";
+                }
+                if (error != null) {
+                    fail(parsed.line(), row.getSku(), error);
+                    continue;
+                }
+                ProductUpsert previous = upserts.put(row.getSku(), new ProductUpsert(parsed.line(), row.getSku(),
+                        row.getTitle(), row.getDescription(), row.getPrice(), category.getId(), category.getTitle()));
+                if (previous != null) {
+                    fail(previous.line(), previous.sku(), "Duplicate SKU, superseded by line " + parsed.line());
+                }
+            }
+            chunk.clear();
+            if (!upserts.isEmpty()) {
+                write(new ArrayList<>(upserts.values()));
+            }
+        }
+
+        private void write(List<ProductUpsert> rows) {
+            Map<String, ProductImportState> before = productJdbcRepository
+                    .findBySkus(rows.stream().map(ProductUpsert::sku).toList()).stream()
+                    .collect(Collectors.toMap(ProductImportState::sku, state -> state));
+
+            List<ProductUpsert> written;
+            try {
+                transactionTemplate.executeWithoutResult(status -> productJdbcRepository.upsert(rows));
+                written = rows;
+            } catch (DataAccessException e) {
+                logger.warn("Import batch of {} rows rejected, retrying row by row", rows.size(), e);
+                written = new ArrayList<>(rows.size());
+                for (ProductUpsert row : rows) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> productJdbcRepository.upsert(List.of(row)));
+                        written.add(row);
+                    } catch (DataAccessException rowException) {
+                        fail(row.line(), row.sku(), rowException.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+            afterWrite(written, before);
+        }
+
+        // Count the changes and propagate them to the caches, the suggestion index and the order service
+        private void afterWrite(List<ProductUpsert> written, Map<String, ProductImportState> before) {
+            if (!written.isEmpty()) {
+                entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class)
+                        .evictQueryRegion(ProductRepository.LIST_TAG_REGION);
+            }
+            List<String> createdSkus = written.stream()
+                    .map(ProductUpsert::sku)
+                    .filter(sku -> !before.containsKey(sku))
+                    .toList();
+            Map<String, Long> createdIds = createdSkus.isEmpty() ? Map.of()
+                    : productJdbcRepository.findBySkus(createdSkus).stream()
+                            .collect(Collectors.toMap(ProductImportState::sku, ProductImportState::id));
+
+            Map<Long, String> indexed = new HashMap<>();
+            for (ProductUpsert row : written) {
+                ProductImportState previous = before.get(row.sku());
+                if (previous == null) {
+                    result.setCreated(result.getCreated() + 1);
+                    Long id = createdIds.get(row.sku());
+                    if (id != null) {
+                        indexed.put(id, row.title());
+                    }
+                } else if (changed(previous, row)) {
+                    result.setUpdated(result.getUpdated() + 1);
+                    indexed.put(previous.id(), row.title());
+                    // Rows written through JDBC are not seen by the second-level cache
+                    entityManagerFactory.getCache().evict(Product.class, previous.id());
+                    if (!Objects.equals(previous.price(), row.price()) || !Objects.equals(previous.title(), row.title())) {
+                        productEventProducer.sendProductChanged(ProductChangedEvent.builder()
+                                .productId(previous.id())
+                                .price(row.price())
+                                .deleted(false)
+                                .build());
+                    }
+                } else {
+                    result.setUnchanged(result.getUnchanged() + 1);
+                }
+            }
+            productSuggestionIndex.putAll(indexed);
+        }
+
+        // Fetch the categories of the chunk not seen yet in one query
+        private void resolveCategories() {
+            Set<Long> ids = chunk.stream()
+                    .filter(parsed -> parsed.row() != null && parsed.row().getCategoryId() != null)
+                    .map(parsed -> parsed.row().getCategoryId())
+                    .filter(id -> !categoriesById.containsKey(id))
+                    .collect(Collectors.toSet());
+            Set<String> titles = chunk.stream()
+                    .filter(parsed -> parsed.row() != null && parsed.row().getCategoryId() == null
+                            && parsed.row().getCategory() != null)
+                    .map(parsed -> parsed.row().getCategory())
+                    .filter(title -> !categoriesByTitle.containsKey(title))
+                    .collect(Collectors.toSet());
+            if (ids.isEmpty() && titles.isEmpty()) {
+                return;
+            }
+            for (Category category : categoryRepository.findAllByIdInOrTitleIn(ids, titles)) {
+                categoriesById.put(category.getId(), category);
+                categoriesByTitle.put(category.getTitle(), category);
+            }
+        }
+
+        private Category category(ProductImportRow row) {
+            return row.getCategoryId() != null
+                    ? categoriesById.get(row.getCategoryId())
+                    : categoriesByTitle.get(row.getCategory());
+        }
+
+        private void fail(long line, String sku, String error) {
+            result.setFailed(result.getFailed() + 1);
+            if (result.getErrors().size() < MAX_LISTED_ERRORS) {
+                result.getErrors().add(new ProductImportError(line, sku, error));
+            }
+        }
+    }
+
+    private static String validate(ProductImportRow row) {
+        if (row.getSku() == null || row.getSku().isBlank()) {
+            return "SKU is required";
+        }
+        if (row.getTitle() == null || row.getTitle().isBlank()) {
+            return "Title is required";
+        }
+        if (row.getPrice() == null) {
+            return "Price is required";
+        }
+        if (row.getPrice().isNegative()) {
+            return "Price must not be negative";
+        }
+        if (row.getCategoryId() == null && (row.getCategory() == null || row.getCategory().isBlank())) {
+            return "Category is required";
+        }
+        return null;
+    }
+
+    private static boolean changed(ProductImportState previous, ProductUpsert row) {
+        return !Objects.equals(previous.title(), row.title())
+                || !Objects.equals(previous.description(), row.description())
+                || !Objects.equals(previous.price(), row.price())
+                || previous.categoryId() != row.categoryId();
+    }
+}
@@ -0,0 +1,135 @@
+package org.micromall.catalog.modules.product;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.micromall.catalog.modules.product.DTO.PurchaseProducts;
+import org.micromall.catalog.utils.MyMoney;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Plain JDBC access for the product import and the purchase lookup. Rows are upserted on the SKU in
+ * JDBC batches, which the driver rewrites into multi-row inserts, and the
+ * search document is computed in the same statement.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductJdbcRepository {
+
+    /*
+     * Insert or update on the SKU. Unchanged rows are left alone so their
+     * version and updated_at do not move, the price version only moves with
+     * the price.
+     */
+    public static final String UPSERT_SQL = "INSERT INTO products "
+            + "(sku, title, description, price, price_version, category_id, version, created_at, updated_at, "
+            + "search_vector) "
+            + "VALUES (?, ?, ?, ?, 1, ?, 0, ?, ?, "
+            + "setweight(to_tsvector('simple', coalesce(?, '')), 'A') || "
+            + "setweight(to_tsvector('simple', coalesce(?, '')), 'B') || "
+            + "setweight(to_tsvector('simple', coalesce(?, '')), 'C')) "
+            + "ON CONFLICT (sku) DO UPDATE SET "
+            + "title = EXCLUDED.title, description = EXCLUDED.description, price = EXCLUDED.price, "
+            + "price_version = CASE WHEN products.price IS DISTINCT FROM EXCLUDED.price "
+            + "THEN products.price_version + 1 ELSE products.price_version END, "
+            + "category_id = EXCLUDED.category_id, version = products.version + 1, "
+            + "updated_at = EXCLUDED.updated_at, search_vector = EXCLUDED.search_vector "
+            + "WHERE (products.title, products.description, products.price, products.category_id) "
+            + "IS DISTINCT FROM (EXCLUDED.title, EXCLUDED.description, EXCLUDED.price, EXCLUDED.category_id)";
+
+    // History row for the current price version of each product, existing versions are kept
+    private static final String RECORD_PRICES_SQL = "INSERT INTO product_prices "
+            + "(product_id, price_version, price, version, created_at, updated_at) "
+            + "SELECT p.id, p.price_version, p.price, 0, ?, ? FROM products p WHERE p.sku = ANY(?) "
+            + "ON CONFLICT (product_id, price_version) DO NOTHING";
+
+    private static final String FIND_BY_SKUS_SQL = "SELECT id, sku, title, description, price, category_id "
+            + "FROM products WHERE sku = ANY(?)";
+
+    private static final String FIND_PURCHASE_PRODUCTS_SQL = "SELECT id, title, price, price_version FROM products WHERE id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /*
+     * Purchase data of a batch of ids. The ids travel as one int8[] parameter,
+     * so the statement text and its cached plan are the same for any batch size.
+     */
+    public List<PurchaseProducts> findPurchaseProducts(long[] ids) {
+        return jdbcTemplate.query(FIND_PURCHASE_PRODUCTS_SQL,
+                statement -> statement.setObject(1, ids),
+                (rs, rowNum) -> new PurchaseProducts(
+                        rs.getLong("id"),
+                        rs.getString("title"),
+                        MyMoney.of(rs.getBigDecimal("price")),
+                        rs.getObject("price_version", Long.class)));
+    }
+
+    // Current state of the products with the given SKUs
+    public List<ProductImportState> findBySkus(Collection<String> skus) {
+        return jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(FIND_BY_SKUS_SQL);
+                    statement.setArray(1, connection.createArrayOf("varchar", skus.toArray()));
+                    return statement;
+                },
+                (rs, rowNum) -> new ProductImportState(
+                        rs.getLong("id"),
+                        rs.getString("sku"),
+                        rs.getString("title"),
+                        rs.getString("description"),
+                        MyMoney.of(rs.getBigDecimal("price")),
+                        rs.getLong("category_id")));
+    }
+
+    // Upsert the rows in one JDBC batch and record their new prices, call it inside a transaction
+    public void upsert(List<ProductUpsert> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), (statement, row) -> {
+            statement.setString(1, row.sku());
+            statement.setString(2, row.title());
+            statement.setString(3, row.description());
+            statement.setBigDecimal(4, row.price() == null ? null : row.price().toBigDecimal());
+            statement.setLong(5, row.categoryId());
+            statement.setTimestamp(6, now);
+            statement.setTimestamp(7, now);
+            statement.setString(8, row.title());
+            statement.setString(9, row.categoryTitle());
+            statement.setString(10, row.description());
+        });
+        String[] skus = rows.stream().map(ProductUpsert::sku).toArray(String[]::new);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RECORD_PRICES_SQL);
+            statement.setTimestamp(1, now);
+            statement.setTimestamp(2, now);
+            statement.setArray(3, connection.createArrayOf("varchar", skus));
+            return statement;
+        });
+    }
+
+    // A validated import row with its resolved category
+    public record ProductUpsert(
+            long line,
+            String sku,
+            String title,
+            String description,
+            MyMoney price,
+            long categoryId,
+            String categoryTitle) {
+    }
+
+    // Stored values of a product, compared with the import to count and publish changes
+    public record ProductImportState(
+            long id,
+            String sku,
+            String title,
+            String description,
+            MyMoney price,
+            long categoryId) {
+    }
+}
@@ -35,9 +35,11 @@ public class ProductMapper implements IMapper<Product, ProductDTO, ProductReques
         }
         return ProductDTO.builder()
                 .id(entity.getId())
+                .sku(entity.getSku())
                 .title(entity.getTitle())
                 .description(entity.getDescription())
                 .price(entity.getPrice())
+                .priceVersion(entity.getPriceVersion())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
                 .build();
@@ -95,14 +97,16 @@ public class ProductMapper implements IMapper<Product, ProductDTO, ProductReques
 
         return ProductDTO.builder()
                 .id(entity.getId())
+                .sku(entity.getSku())
                 .title(entity.getTitle())
                 .description(entity.getDescription())
                 .price(entity.getPrice())
+                .priceVersion(entity.getPriceVersion())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
                 .category(CategoryDTO.builder()
                         .id(entity.getCategory().getId())
-                        .title(entity.getTitle())
+                        .title(entity.getCategory().getTitle())
                         .build())
                 .build();
     }
@@ -0,0 +1,44 @@
+package org.micromall.catalog.modules.product;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.micromall.catalog.utils.MyEntity;
+import org.micromall.catalog.utils.MyMoney;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+// One price of a product, a new row is written each time the price changes
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode(callSuper = false)
+@SuperBuilder
+@Entity
+@Table(name = "product_prices",
+        uniqueConstraints = @UniqueConstraint(name = "uk_product_prices_product_version",
+                columnNames = { "product_id", "price_version" }))
+public class ProductPrice extends MyEntity {
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Product product;
+
+    private Long priceVersion;
+    @Column(precision = 19, scale = 2)
+    private MyMoney price;
+}
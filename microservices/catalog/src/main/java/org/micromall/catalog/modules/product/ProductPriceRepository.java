@@ -0,0 +1,13 @@
+package org.micromall.catalog.modules.product;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductPriceRepository extends JpaRepository<ProductPrice, Long> {
+
+    List<ProductPrice> findByProductIdOrderByPriceVersionDesc(Long productId);
+
+}
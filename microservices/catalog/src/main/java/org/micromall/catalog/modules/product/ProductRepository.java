@@ -1,18 +1,100 @@
 package org.micromall.catalog.modules.product;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
+
+import org.micromall.catalog.modules.product.DTO.ProductExportRow;
+import org.micromall.catalog.modules.product.DTO.ProductSuggestion;
+import org.micromall.catalog.utils.MyListTag;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    @Query("SELECT p FROM Product p WHERE " +
-            "LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(p.category.title) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    Page<Product> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
+    // Weighted search document: product title, then category title, then description
+    String SEARCH_DOCUMENT = "setweight(to_tsvector('simple', coalesce(p.title, '')), 'A') || "
+            + "setweight(to_tsvector('simple', coalesce(c.title, '')), 'B') || "
+            + "setweight(to_tsvector('simple', coalesce(p.description, '')), 'C')";
+
+    // Query cache region of the listing validator, the JDBC import does not go through Hibernate and evicts it
+    String LIST_TAG_REGION = "catalog.product-list-tag";
+
+    // Row count and latest update, the validator of product listings, served from the query cache
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = LIST_TAG_REGION)
+    })
+    @Query("SELECT new org.micromall.catalog.utils.MyListTag(COUNT(p), MAX(p.updatedAt)) FROM Product p")
+    MyListTag findListTag();
+
+    // Every product with its category for fetchList, in one query
+    @Query("SELECT p FROM Product p JOIN FETCH p.category")
+    List<Product> findAllWithCategory();
+
+    // Export rows joined with their category, read through a server-side cursor
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new org.micromall.catalog.modules.product.DTO.ProductExportRow("
+            + "p.id, p.sku, p.title, p.description, p.price, c.id, c.title, p.createdAt, p.updatedAt) "
+            + "FROM Product p JOIN p.category c ORDER BY p.id")
+    Stream<ProductExportRow> streamExportRows();
+
+    // Id and title of every product, to build the suggestion index
+    @Query("SELECT new org.micromall.catalog.modules.product.DTO.ProductSuggestion(p.id, p.title) FROM Product p")
+    List<ProductSuggestion> findAllSuggestions();
+
+    // First keyset page of products, newest first, served by the (created_at, id) index
+    @Query("SELECT p FROM Product p ORDER BY p.createdAt DESC, p.id DESC")
+    List<Product> findScrollFirst(Limit limit);
+
+    // Keyset page of products after the given cursor, no OFFSET and no COUNT
+    @Query("SELECT p FROM Product p WHERE (p.createdAt, p.id) < (:createdAt, :id) ORDER BY p.createdAt DESC, p.id DESC")
+    List<Product> findScrollAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    /*
+     * Query space declared by the search document updates. search_vector is
+     * not mapped, so these updates must not evict the second-level cache;
+     * without a declared space Hibernate would invalidate every region.
+     */
+    String SEARCH_SPACE = "products_search_vector";
+
+    // Ranked full-text search served by the GIN index on search_vector
+    @Query(value = "SELECT p.* FROM products p CROSS JOIN to_tsquery('simple', :query) q "
+            + "WHERE p.search_vector @@ q "
+            + "ORDER BY ts_rank_cd(p.search_vector, q) DESC, p.id DESC",
+            countQuery = "SELECT count(*) FROM products p WHERE p.search_vector @@ to_tsquery('simple', :query)",
+            nativeQuery = true)
+    Page<Product> searchFullText(@Param("query") String query, Pageable pageable);
+
+    // Rebuild the search document of one product
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = SEARCH_SPACE))
+    @Query(value = "UPDATE products p SET search_vector = " + SEARCH_DOCUMENT + " "
+            + "FROM categories c WHERE c.id = p.category_id AND p.id = :id", nativeQuery = true)
+    int refreshSearchVector(@Param("id") Long id);
+
+    // Rebuild the search documents of every product in a category
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = SEARCH_SPACE))
+    @Query(value = "UPDATE products p SET search_vector = " + SEARCH_DOCUMENT + " "
+            + "FROM categories c WHERE c.id = p.category_id AND p.category_id = :categoryId", nativeQuery = true)
+    int refreshSearchVectorsByCategory(@Param("categoryId") Long categoryId);
 }
@@ -1,12 +1,14 @@
 package org.micromall.catalog.modules.product;
 
+import org.micromall.catalog.utils.MyMoney;
+
 import lombok.Builder;
 
 @Builder
 public record ProductRequest(
     String title,
     String description,
-    Double price,
+    MyMoney price,
     Long categoryId
 ) {
     
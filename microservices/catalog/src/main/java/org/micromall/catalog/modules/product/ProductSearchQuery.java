@@ -0,0 +1,36 @@
+package org.micromall.catalog.modules.product;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Turns a free-text keyword into a Postgres prefix {@code tsquery}. Only
+ * letters and digits are kept, so the result is always valid tsquery syntax
+ * whatever the user typed.
+ */
+public final class ProductSearchQuery {
+
+    private static final int MAX_TERMS = 8;
+
+    private ProductSearchQuery() {
+    }
+
+    // Build "term1:* & term2:*" from the keyword, or null when it has no searchable term
+    public static String toPrefixQuery(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        StringJoiner query = new StringJoiner(" & ");
+        int terms = 0;
+        for (String token : keyword.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            query.add(token + ":*");
+            if (++terms == MAX_TERMS) {
+                break;
+            }
+        }
+        return terms == 0 ? null : query.toString();
+    }
+}
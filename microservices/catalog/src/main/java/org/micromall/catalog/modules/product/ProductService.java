@@ -1,20 +1,43 @@
 package org.micromall.catalog.modules.product;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.micromall.catalog.exception.MyBadRequestException;
 import org.micromall.catalog.exception.MyNotDeleteException;
 import org.micromall.catalog.exception.MyNotFoundException;
 import org.micromall.catalog.exception.MyNotSaveException;
 import org.micromall.catalog.interfaces.IDaoService;
+import org.micromall.catalog.kafka.ProductChangedEvent;
+import org.micromall.catalog.kafka.ProductEventProducer;
 import org.micromall.catalog.modules.category.Category;
 import org.micromall.catalog.modules.category.CategoryRepository;
+import org.micromall.catalog.modules.product.DTO.ProductSuggestion;
 import org.micromall.catalog.modules.product.DTO.PurchaseProducts;
+import org.micromall.catalog.modules.product.DTO.PurchaseVerification;
+import org.micromall.catalog.modules.product.DTO.PurchaseVersion;
+import org.micromall.catalog.utils.MyCursor;
+import org.micromall.catalog.utils.MyEntityTag;
+import org.micromall.catalog.utils.MyListTag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import lombok.RequiredArgsConstructor;
 
@@ -27,8 +50,19 @@ public class ProductService implements IDaoService<Product, ProductDTO, ProductR
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
     private final CategoryRepository categoryRepository;
+    private final ProductEventProducer productEventProducer;
+    private final ProductSuggestionIndex productSuggestionIndex;
+    private final ProductJdbcRepository productJdbcRepository;
+    private final ProductPriceRepository productPriceRepository;
+
+    @Value("${catalog.purchase.max-ids:10000}")
+    private int purchaseMaxIds;
+
+    @Value("${catalog.purchase.batch-size:500}")
+    private int purchaseBatchSize;
 
     @Override
+    @Transactional
     public ProductDTO create(ProductRequest request) throws MyNotSaveException {
 
         // Check if the category exists
@@ -40,11 +74,20 @@ public class ProductService implements IDaoService<Product, ProductDTO, ProductR
         // Save the
         Product product = productMapper.fromRequestToEntity(request);
         product.setCategory(category);
-        product = productRepository.save(product);
+        product.setPriceVersion(1L);
+        // Flush before the native search update, it does not trigger an auto flush
+        product = productRepository.saveAndFlush(product);
+        recordPrice(product);
+        productRepository.refreshSearchVector(product.getId());
+        Long productId = product.getId();
+        String title = product.getTitle();
+        afterCommit(() -> productSuggestionIndex.put(productId, title));
         return productMapper.toDTO(product);
     }
 
+    // Concurrent edits of a product fail on its @Version with an OptimisticLockingFailureException
     @Override
+    @Transactional
     public ProductDTO update(ProductRequest request, Long id) throws MyNotSaveException {
 
         Product product = productRepository.findById(id).orElseThrow(() -> {
@@ -60,10 +103,36 @@ public class ProductService implements IDaoService<Product, ProductDTO, ProductR
             product.setCategory(category);
         }
 
+        // Purchase caches on the order side hold the title and the price
+        boolean priceChanged = !Objects.equals(product.getPrice(), request.price());
+        boolean purchaseChanged = priceChanged || !Objects.equals(product.getTitle(), request.title());
+
         product.setTitle(request.title());
         product.setDescription(request.description());
         product.setPrice(request.price());
-        product = productRepository.save(product);
+        if (priceChanged) {
+            product.setPriceVersion(product.getPriceVersion() + 1);
+        }
+        product = productRepository.saveAndFlush(product);
+        if (priceChanged) {
+            recordPrice(product);
+        }
+        productRepository.refreshSearchVector(product.getId());
+
+        // Consumers reload the product when they get the event, it must not be sent before the new price is visible
+        Long productId = product.getId();
+        String title = product.getTitle();
+        ProductChangedEvent event = purchaseChanged ? ProductChangedEvent.builder()
+                .productId(productId)
+                .price(product.getPrice())
+                .deleted(false)
+                .build() : null;
+        afterCommit(() -> {
+            productSuggestionIndex.put(productId, title);
+            if (event != null) {
+                productEventProducer.sendProductChanged(event);
+            }
+        });
         return productMapper.toDTO(product);
     }
 
@@ -78,6 +147,21 @@ public class ProductService implements IDaoService<Product, ProductDTO, ProductR
         return productMapper.fromEntityToDTOWithCategoryDetails(product);
     }
 
+    // Validator of one product, read from the second-level cache without mapping the DTO.
+    // The category title is part of the product response, so the category is part of the tag.
+    public MyEntityTag fetchTag(Long id) throws MyNotFoundException {
+        Product product = productRepository.findById(id).orElseThrow(() -> {
+            logger.error("Product with id {} not found", id);
+            return new MyNotFoundException("Product not found");
+        });
+        return MyEntityTag.of(product, product.getCategory());
+    }
+
+    // Validator of the product listings
+    public MyListTag fetchListTag() {
+        return productRepository.findListTag();
+    }
+
     @Override
     public void delete(Long id) throws MyNotDeleteException {
         Product product = productRepository.findById(id).orElseThrow(() -> {
@@ -85,10 +169,38 @@ public class ProductService implements IDaoService<Product, ProductDTO, ProductR
             return new MyNotFoundException("Product not found");
         });
         productRepository.delete(product);
+        productSuggestionIndex.remove(id);
+        productEventProducer.sendProductChanged(ProductChangedEvent.builder()
+                .productId(id)
+                .deleted(true)
+                .build());
+    }
+
+    // Run once the surrounding transaction committed, or right away outside of one
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Append the current price of the product to its price history
+    private void recordPrice(Product product) {
+        productPriceRepository.save(ProductPrice.builder()
+                .product(product)
+                .priceVersion(product.getPriceVersion())
+                .price(product.getPrice())
+                .build());
     }
 
     public List<ProductDTO> fetchList() {
-        return productRepository.findAll().stream()
+        return productRepository.findAllWithCategory().stream()
                 .map(productMapper::fromEntityToDTOWithCategoryDetails)
                 .collect(Collectors.toList());
     }
@@ -101,20 +213,81 @@ public class ProductService implements IDaoService<Product, ProductDTO, ProductR
 
     @Override
     public Page<ProductDTO> search(String keyword, Pageable pageable) {
-        Page<Product> productsPage = productRepository.searchByKeyword(keyword, pageable);
+        String query = ProductSearchQuery.toPrefixQuery(keyword);
+        if (query == null) {
+            return Page.empty(pageable);
+        }
+        Page<Product> productsPage = productRepository.searchFullText(query, pageable);
         return productsPage.map(productMapper::toDTO);
     }
 
-    public List<PurchaseProducts> purchaseProducts(List<Long> ids) {
-        return productRepository.findAllById(ids).stream()
-                .map(product -> {
-                    return PurchaseProducts.builder()
-                            .id(product.getId())
-                            .title(product.getTitle())
-                            .price(product.getPrice())
-                            .build();
-                })
+    // Keyset page of products, newest first, without a count query
+    public Slice<ProductDTO> scroll(String cursor, int size) throws MyBadRequestException {
+        // Read one extra row to know whether another page follows
+        List<Product> products;
+        if (cursor == null) {
+            products = productRepository.findScrollFirst(Limit.of(size + 1));
+        } else {
+            MyCursor position = MyCursor.decode(cursor);
+            LocalDateTime createdAt;
+            try {
+                createdAt = LocalDateTime.parse(position.sortKey());
+            } catch (DateTimeParseException e) {
+                throw new MyBadRequestException("Invalid cursor", "cursor");
+            }
+            products = productRepository.findScrollAfter(createdAt, position.id(), Limit.of(size + 1));
+        }
+        boolean hasNext = products.size() > size;
+        List<ProductDTO> content = products.stream()
+                .limit(size)
+                .map(productMapper::toDTO)
                 .collect(Collectors.toList());
+        return new SliceImpl<>(content, Pageable.ofSize(size), hasNext);
+    }
+
+    // Type-ahead suggestions served from the in-memory index
+    public List<ProductSuggestion> suggest(String text, int limit) {
+        return productSuggestionIndex.suggest(text, limit);
+    }
+
+    public List<PurchaseProducts> purchaseProducts(List<Long> ids) throws MyBadRequestException {
+        return purchaseProducts(ids.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    // Compare the price versions seen by a client with the current ones, only the differences are returned
+    public PurchaseVerification verifyPurchaseProducts(List<PurchaseVersion> versions) throws MyBadRequestException {
+        Map<Long, PurchaseProducts> current = purchaseProducts(versions.stream()
+                .mapToLong(PurchaseVersion::getId)
+                .toArray())
+                .stream()
+                .collect(Collectors.toMap(PurchaseProducts::getId, Function.identity()));
+
+        List<PurchaseProducts> changed = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        for (PurchaseVersion version : versions) {
+            PurchaseProducts product = current.get(version.getId());
+            if (product == null) {
+                missing.add(version.getId());
+            } else if (!Objects.equals(product.getPriceVersion(), version.getPriceVersion())) {
+                changed.add(product);
+            }
+        }
+        return PurchaseVerification.builder().changed(changed).missing(missing).build();
+    }
+
+    // Purchase data of the given products, read in fixed-size batches without loading entities
+    public List<PurchaseProducts> purchaseProducts(long[] ids) throws MyBadRequestException {
+        // Sort and drop duplicates on the primitive array
+        long[] unique = Arrays.stream(ids).sorted().distinct().toArray();
+        if (unique.length > purchaseMaxIds) {
+            throw new MyBadRequestException("At most " + purchaseMaxIds + " product ids per request", "ids");
+        }
+        List<PurchaseProducts> products = new ArrayList<>(unique.length);
+        for (int from = 0; from < unique.length; from += purchaseBatchSize) {
+            long[] batch = Arrays.copyOfRange(unique, from, Math.min(unique.length, from + purchaseBatchSize));
+            products.addAll(productJdbcRepository.findPurchaseProducts(batch));
+        }
+        return products;
     }
 
 }
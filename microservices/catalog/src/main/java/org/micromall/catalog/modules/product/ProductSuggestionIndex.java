@@ -0,0 +1,301 @@
+package org.micromall.catalog.modules.product;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+import org.micromall.catalog.modules.product.DTO.ProductSuggestion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * In-memory prefix index over the normalized title tokens of every product,
+ * used for type-ahead suggestions without touching the database. Each token
+ * maps to a sorted {@code long[]} of product ids and the titles are kept once
+ * per product for display. Reads are lock-free; writes replace the posting
+ * arrays copy-on-write. The index is built when the application is ready and
+ * kept in sync from {@link ProductService}.
+ */
+@Component
+public class ProductSuggestionIndex {
+
+    // Logger
+    Logger logger = LoggerFactory.getLogger(getClass().getName());
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ProductRepository productRepository;
+    private final Timer rebuildTimer;
+    private final int maxCandidates;
+
+    private volatile NavigableMap<String, long[]> postings = new ConcurrentSkipListMap<>();
+    private volatile Map<Long, String> titles = new ConcurrentHashMap<>();
+
+    public ProductSuggestionIndex(
+            ProductRepository productRepository,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.suggest.max-candidates:1000}") int maxCandidates) {
+        this.productRepository = productRepository;
+        this.maxCandidates = maxCandidates;
+        this.rebuildTimer = Timer.builder("catalog.suggest.index.rebuild")
+                .description("Time to rebuild the product suggestion index")
+                .register(meterRegistry);
+        Gauge.builder("catalog.suggest.index.memory", this, ProductSuggestionIndex::estimatedBytes)
+                .description("Estimated heap used by the product suggestion index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("catalog.suggest.index.terms", this, index -> index.postings.size())
+                .description("Distinct title tokens in the product suggestion index")
+                .register(meterRegistry);
+        Gauge.builder("catalog.suggest.index.products", this, index -> index.titles.size())
+                .description("Products in the product suggestion index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // Rebuild the whole index from the database and swap it in
+    public synchronized void rebuild() {
+        rebuildTimer.record(() -> {
+            List<ProductSuggestion> products = productRepository.findAllSuggestions();
+
+            // Collect the ids of every token in growable arrays before freezing them
+            Map<String, long[]> building = new HashMap<>();
+            Map<String, Integer> sizes = new HashMap<>();
+            Map<Long, String> newTitles = new ConcurrentHashMap<>(products.size() * 2);
+            for (ProductSuggestion product : products) {
+                newTitles.put(product.getId(), product.getTitle());
+                for (String token : tokens(product.getTitle())) {
+                    int size = sizes.getOrDefault(token, 0);
+                    long[] ids = building.computeIfAbsent(token, key -> new long[4]);
+                    if (size == ids.length) {
+                        ids = Arrays.copyOf(ids, size * 2);
+                        building.put(token, ids);
+                    }
+                    ids[size] = product.getId();
+                    sizes.put(token, size + 1);
+                }
+            }
+
+            NavigableMap<String, long[]> newPostings = new ConcurrentSkipListMap<>();
+            building.forEach((token, ids) -> {
+                long[] trimmed = Arrays.copyOf(ids, sizes.get(token));
+                Arrays.sort(trimmed);
+                newPostings.put(token, trimmed);
+            });
+
+            postings = newPostings;
+            titles = newTitles;
+            logger.info("Product suggestion index built with {} products and {} terms",
+                    newTitles.size(), newPostings.size());
+        });
+    }
+
+    // Index a created or updated product
+    public void put(Long id, String title) {
+        putAll(Map.of(id, title));
+    }
+
+    // Index a batch of products, each posting array is rewritten once per batch
+    public synchronized void putAll(Map<Long, String> products) {
+        Map<String, List<Long>> removed = new HashMap<>();
+        Map<String, List<Long>> added = new HashMap<>();
+        products.forEach((id, title) -> {
+            String previous = titles.put(id, title);
+            if (previous != null) {
+                for (String token : tokens(previous)) {
+                    removed.computeIfAbsent(token, key -> new ArrayList<>()).add(id);
+                }
+            }
+            for (String token : tokens(title)) {
+                added.computeIfAbsent(token, key -> new ArrayList<>()).add(id);
+            }
+        });
+        removed.forEach((token, ids) -> postings.computeIfPresent(token,
+                (key, current) -> without(current, sorted(ids))));
+        added.forEach((token, ids) -> postings.merge(token, sorted(ids), ProductSuggestionIndex::union));
+    }
+
+    // Remove a deleted product
+    public synchronized void remove(Long id) {
+        String previous = titles.remove(id);
+        if (previous != null) {
+            long[] removed = { id };
+            for (String token : tokens(previous)) {
+                postings.computeIfPresent(token, (key, ids) -> without(ids, removed));
+            }
+        }
+    }
+
+    /**
+     * Return up to {@code limit} products whose title has a token starting
+     * with each query token. Titles starting with the query come first, then
+     * shorter titles, then the most recent products. At most
+     * {@code maxCandidates} distinct products are ranked, each posting array is
+     * walked from its highest id so a popular prefix still sees its newest
+     * products.
+     */
+    public List<ProductSuggestion> suggest(String text, int limit) {
+        List<String> query = tokens(text);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String normalizedText = String.join(" ", query);
+        String last = query.get(query.size() - 1);
+        List<String> others = query.subList(0, query.size() - 1);
+
+        // Keep the best candidates in a bounded heap, the worst one on top
+        Comparator<Candidate> ranking = Comparator.comparing(Candidate::startsWithQuery)
+                .thenComparing(Comparator.comparingInt(Candidate::length).reversed())
+                .thenComparingLong(Candidate::id);
+        PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1, ranking);
+
+        Map<Long, String> currentTitles = titles;
+        // A title with several tokens under the prefix is in several posting arrays, rank it once
+        Set<Long> seen = new HashSet<>();
+        int scanned = 0;
+        for (long[] ids : postings.subMap(last, true, last + Character.MAX_VALUE, false).values()) {
+            for (int i = ids.length - 1; i >= 0; i--) {
+                long id = ids[i];
+                if (!seen.add(id)) {
+                    continue;
+                }
+                String title = currentTitles.get(id);
+                if (title == null || !matchesAll(title, others)) {
+                    continue;
+                }
+                String normalizedTitle = normalize(title);
+                best.offer(new Candidate(id, title, normalizedTitle.startsWith(normalizedText), title.length()));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+                if (++scanned >= maxCandidates) {
+                    break;
+                }
+            }
+            if (scanned >= maxCandidates) {
+                break;
+            }
+        }
+
+        List<ProductSuggestion> suggestions = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            Candidate candidate = best.poll();
+            suggestions.add(new ProductSuggestion(candidate.id(), candidate.title()));
+        }
+        // The heap yields the worst candidate first
+        return suggestions.reversed();
+    }
+
+    // Rough heap estimate of the postings and titles, including map entry overhead
+    long estimatedBytes() {
+        long bytes = 0;
+        for (Map.Entry<String, long[]> entry : postings.entrySet()) {
+            bytes += 64 + 40 + 2L * entry.getKey().length() + 16 + 8L * entry.getValue().length;
+        }
+        for (String title : titles.values()) {
+            bytes += 48 + 16 + 40 + 2L * title.length();
+        }
+        return bytes;
+    }
+
+    // Every previous query token must prefix a token of the title
+    private static boolean matchesAll(String title, List<String> prefixes) {
+        if (prefixes.isEmpty()) {
+            return true;
+        }
+        List<String> titleTokens = tokens(title);
+        for (String prefix : prefixes) {
+            if (titleTokens.stream().noneMatch(token -> token.startsWith(prefix))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static List<String> tokens(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalize(text))) {
+            if (!token.isEmpty() && !tokens.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Lower case and strip accents so "Écran" matches "ecr"
+    private static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static long[] sorted(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+    }
+
+    // Merge two sorted posting arrays without duplicates
+    private static long[] union(long[] left, long[] right) {
+        long[] merged = new long[left.length + right.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < left.length || j < right.length) {
+            long next;
+            if (j == right.length || (i < left.length && left[i] < right[j])) {
+                next = left[i++];
+            } else if (i == left.length || right[j] < left[i]) {
+                next = right[j++];
+            } else {
+                next = left[i++];
+                j++;
+            }
+            merged[size++] = next;
+        }
+        return size == merged.length ? merged : Arrays.copyOf(merged, size);
+    }
+
+    // Remove sorted ids from a posting array, null drops the token once no product uses it
+    private static long[] without(long[] ids, long[] removed) {
+        long[] kept = new long[ids.length];
+        int size = 0;
+        for (long id : ids) {
+            if (Arrays.binarySearch(removed, id) < 0) {
+                kept[size++] = id;
+            }
+        }
+        if (size == 0) {
+            return null;
+        }
+        return size == ids.length ? ids : Arrays.copyOf(kept, size);
+    }
+
+    private record Candidate(long id, String title, boolean startsWithQuery, int length) {
+    }
+}
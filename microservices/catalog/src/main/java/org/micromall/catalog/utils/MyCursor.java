@@ -0,0 +1,31 @@
+package org.micromall.catalog.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.micromall.catalog.exception.MyBadRequestException;
+
+/**
+ * Opaque keyset cursor made of the sort key and the id of the last row of a
+ * page. It travels as URL-safe Base64 so clients cannot depend on its shape.
+ */
+public record MyCursor(String sortKey, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // The id is after the last separator, the sort key may contain the separator itself
+    public static MyCursor decode(String cursor) throws MyBadRequestException {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new MyCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new MyBadRequestException("Invalid cursor", "cursor");
+        }
+    }
+}
@@ -19,6 +19,10 @@ public abstract class MyEntity implements Serializable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     protected Long id;
 
+    // Optimistic lock, also part of the ETag
+    @Version
+    protected Long version;
+
     protected LocalDateTime createdAt;
     protected LocalDateTime updatedAt;
 
@@ -0,0 +1,41 @@
+package org.micromall.catalog.utils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validator of a single entity for conditional GETs: a strong ETag built from
+ * the id, the optimistic-lock version and {@code updatedAt} of the entity and
+ * of any entity embedded in its representation, and the Last-Modified time.
+ */
+public record MyEntityTag(String etag, LocalDateTime updatedAt) {
+
+    public static MyEntityTag of(MyEntity entity) {
+        return new MyEntityTag(validator(entity), entity.getUpdatedAt());
+    }
+
+    // Tag of an entity whose representation embeds another one, a change to either changes the tag
+    public static MyEntityTag of(MyEntity entity, MyEntity embedded) {
+        if (embedded == null) {
+            return of(entity);
+        }
+        LocalDateTime updatedAt = entity.getUpdatedAt();
+        if (updatedAt == null || (embedded.getUpdatedAt() != null && embedded.getUpdatedAt().isAfter(updatedAt))) {
+            updatedAt = embedded.getUpdatedAt();
+        }
+        return new MyEntityTag(validator(entity) + "-" + validator(embedded), updatedAt);
+    }
+
+    // Epoch milliseconds, updatedAt is written in the server time zone
+    public long lastModified() {
+        return epochMillis(updatedAt);
+    }
+
+    private static String validator(MyEntity entity) {
+        return entity.getId() + "-" + entity.getVersion() + "-" + epochMillis(entity.getUpdatedAt());
+    }
+
+    private static long epochMillis(LocalDateTime value) {
+        return value == null ? -1 : value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
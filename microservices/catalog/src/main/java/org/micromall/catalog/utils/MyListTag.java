@@ -0,0 +1,26 @@
+package org.micromall.catalog.utils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validator of a whole table for listing endpoints. Any insert, update or
+ * delete changes either the row count or the latest {@code updatedAt}, so the
+ * ETag of a page (count, latest update and the paging parameters) changes
+ * with it. A delete does not move the latest update, so listings send an
+ * ETag only and no Last-Modified.
+ */
+public record MyListTag(Long count, LocalDateTime lastUpdatedAt) {
+
+    public String etag(Object... parameters) {
+        StringBuilder etag = new StringBuilder()
+                .append(count)
+                .append('-')
+                .append(lastUpdatedAt == null ? 0 : lastUpdatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        // Keep the tag a valid quoted-string whatever the parameters hold
+        for (Object parameter : parameters) {
+            etag.append('-').append(String.valueOf(parameter).replaceAll("[^A-Za-z0-9]", "_"));
+        }
+        return etag.toString();
+    }
+}
@@ -0,0 +1,124 @@
+package org.micromall.catalog.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.micromall.catalog.modules.product.ProductJdbcRepository;
+import org.micromall.catalog.modules.product.ProductJdbcRepository.ProductUpsert;
+import org.micromall.catalog.utils.MyMoney;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Import throughput in rows per second for one chunk of 1000 rows upserted
+ * through {@link ProductJdbcRepository}, with batched inserts rewritten into
+ * multi-row statements as configured for the catalog. {@code insert} writes
+ * new SKUs, {@code update} changes the price of existing ones. Needs a
+ * running Postgres; see {@link ProductSearchBenchmark} for the connection
+ * properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductImportBenchmark {
+
+    private static final int CHUNK = 1000;
+
+    private Connection connection;
+    private ProductJdbcRepository repository;
+    private long nextSku;
+    private int round;
+
+    @Setup
+    public void setUp() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", System.getProperty("benchmark.jdbc.user", "user"));
+        properties.setProperty("password", System.getProperty("benchmark.jdbc.password", "password"));
+        properties.setProperty("reWriteBatchedInserts", "true");
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/catalog_db"),
+                properties);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS import_benchmark CASCADE");
+            statement.execute("CREATE SCHEMA import_benchmark");
+            statement.execute("SET search_path TO import_benchmark");
+            statement.execute("CREATE TABLE products (id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "sku varchar(255) CONSTRAINT uk_products_sku UNIQUE, title varchar(255), "
+                    + "description varchar(255), price numeric(19, 2), price_version bigint, category_id bigint NOT NULL, "
+                    + "version bigint, created_at timestamp(6), updated_at timestamp(6), search_vector tsvector)");
+            statement.execute("CREATE TABLE product_prices (id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "product_id bigint NOT NULL REFERENCES products ON DELETE CASCADE, price_version bigint, "
+                    + "price numeric(19, 2), version bigint, created_at timestamp(6), updated_at timestamp(6), "
+                    + "CONSTRAINT uk_product_prices_product_version UNIQUE (product_id, price_version))");
+            statement.execute("CREATE INDEX idx_products_search_vector ON products USING GIN (search_vector)");
+        }
+        repository = new ProductJdbcRepository(new JdbcTemplate(new SingleConnectionDataSource(connection, true)));
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS import_benchmark CASCADE");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public void insert() {
+        List<ProductUpsert> rows = new ArrayList<>(CHUNK);
+        for (int i = 0; i < CHUNK; i++) {
+            long sku = nextSku++;
+            rows.add(row(sku, 10 + sku % 100));
+        }
+        repository.upsert(rows);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public void update() {
+        // Rewrite the first chunk with a new price each round so every row changes
+        round++;
+        List<ProductUpsert> rows = new ArrayList<>(CHUNK);
+        for (long sku = 0; sku < CHUNK; sku++) {
+            rows.add(row(sku, 10 + round));
+        }
+        repository.upsert(rows);
+    }
+
+    private static ProductUpsert row(long sku, long price) {
+        return new ProductUpsert(sku, "SKU-" + sku, "Wireless mouse " + sku,
+                "Ergonomic wireless mouse with a USB receiver", MyMoney.ofMinor(price * 100), 1 + sku % 50, "Accessories");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductImportBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
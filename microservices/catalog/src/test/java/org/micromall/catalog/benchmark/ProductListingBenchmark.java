@@ -0,0 +1,134 @@
+package org.micromall.catalog.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Reads page 1000 (20 rows per page) of the product listing with the offset
+ * mode ({@code OFFSET} plus the {@code COUNT(*)} issued for a {@code Page})
+ * and with the keyset mode (seek after the cursor of page 999, no count).
+ * Needs a running Postgres; rows are seeded in a dedicated
+ * {@code listing_benchmark} schema, see {@link ProductSearchBenchmark} for
+ * the connection properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductListingBenchmark {
+
+    private static final int PAGE = 1000;
+    private static final int SIZE = 20;
+
+    private static final String OFFSET_QUERY = "SELECT * FROM products ORDER BY created_at DESC, id DESC OFFSET ? LIMIT ?";
+    private static final String COUNT_QUERY = "SELECT count(*) FROM products";
+    private static final String KEYSET_QUERY = "SELECT * FROM products WHERE (created_at, id) < (?, ?) "
+            + "ORDER BY created_at DESC, id DESC LIMIT ?";
+
+    @Param({ "100000", "1000000" })
+    private int products;
+
+    private Connection connection;
+    private PreparedStatement offset;
+    private PreparedStatement count;
+    private PreparedStatement keyset;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/catalog_db"),
+                System.getProperty("benchmark.jdbc.user", "user"),
+                System.getProperty("benchmark.jdbc.password", "password"));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS listing_benchmark CASCADE");
+            statement.execute("CREATE SCHEMA listing_benchmark");
+            statement.execute("SET search_path TO listing_benchmark");
+            statement.execute("CREATE TABLE products (id bigint PRIMARY KEY, title varchar(255), "
+                    + "description varchar(255), price numeric(19, 2), category_id bigint NOT NULL, "
+                    + "created_at timestamp(6), updated_at timestamp(6))");
+            statement.execute("INSERT INTO products "
+                    + "SELECT g, 'Product ' || g, 'Description ' || md5(g::text), g % 1000, 1 + g % 100, "
+                    + "timestamp '2024-01-01' + g * interval '1 second', timestamp '2024-01-01' + g * interval '1 second' "
+                    + "FROM generate_series(1, " + products + ") g");
+            // Same index as the catalog schema
+            statement.execute("CREATE INDEX idx_products_created_at_id ON products (created_at, id)");
+            statement.execute("ANALYZE products");
+        }
+
+        offset = connection.prepareStatement(OFFSET_QUERY);
+        offset.setInt(1, (PAGE - 1) * SIZE);
+        offset.setInt(2, SIZE);
+        count = connection.prepareStatement(COUNT_QUERY);
+
+        // The cursor is the last row of the previous page
+        keyset = connection.prepareStatement(KEYSET_QUERY);
+        try (PreparedStatement previous = connection.prepareStatement(OFFSET_QUERY)) {
+            previous.setInt(1, (PAGE - 1) * SIZE - 1);
+            previous.setInt(2, 1);
+            try (ResultSet row = previous.executeQuery()) {
+                row.next();
+                keyset.setTimestamp(1, row.getTimestamp("created_at"));
+                keyset.setLong(2, row.getLong("id"));
+            }
+        }
+        keyset.setInt(3, SIZE);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS listing_benchmark CASCADE");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void offsetPage(Blackhole blackhole) throws SQLException {
+        consume(offset, blackhole);
+        consume(count, blackhole);
+    }
+
+    @Benchmark
+    public void keysetPage(Blackhole blackhole) throws SQLException {
+        consume(keyset, blackhole);
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getLong(1));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductListingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,154 @@
+package org.micromall.catalog.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.micromall.catalog.modules.product.ProductSearchQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the former {@code LIKE '%kw%'} product search with the ranked
+ * full-text search on the {@code search_vector} GIN index. Each variant reads
+ * the first page of 20 results and the total count, as the paged endpoint does. Needs a running Postgres; the tables are seeded
+ * in a dedicated {@code search_benchmark} schema so catalog data is untouched.
+ * Connection settings come from {@code -Dbenchmark.jdbc.url},
+ * {@code -Dbenchmark.jdbc.user} and {@code -Dbenchmark.jdbc.password}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSearchBenchmark {
+
+    private static final String KEYWORD = "wireless mou";
+
+    private static final String LIKE_QUERY = "SELECT p.* FROM products p JOIN categories c ON c.id = p.category_id WHERE "
+            + "LOWER(p.title) LIKE LOWER(CONCAT('%', ?, '%')) OR "
+            + "LOWER(p.description) LIKE LOWER(CONCAT('%', ?, '%')) OR "
+            + "LOWER(c.title) LIKE LOWER(CONCAT('%', ?, '%')) "
+            + "LIMIT 20";
+
+    private static final String LIKE_COUNT = "SELECT count(*) FROM products p JOIN categories c ON c.id = p.category_id WHERE "
+            + "LOWER(p.title) LIKE LOWER(CONCAT('%', ?, '%')) OR "
+            + "LOWER(p.description) LIKE LOWER(CONCAT('%', ?, '%')) OR "
+            + "LOWER(c.title) LIKE LOWER(CONCAT('%', ?, '%'))";
+
+    private static final String FULL_TEXT_QUERY = "SELECT p.* FROM products p CROSS JOIN to_tsquery('simple', ?) q "
+            + "WHERE p.search_vector @@ q "
+            + "ORDER BY ts_rank_cd(p.search_vector, q) DESC, p.id DESC "
+            + "LIMIT 20";
+
+    private static final String FULL_TEXT_COUNT = "SELECT count(*) FROM products p "
+            + "WHERE p.search_vector @@ to_tsquery('simple', ?)";
+
+    @Param({ "10000", "100000", "1000000" })
+    private int products;
+
+    private Connection connection;
+    private PreparedStatement like;
+    private PreparedStatement likeCount;
+    private PreparedStatement fullText;
+    private PreparedStatement fullTextCount;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/catalog_db"),
+                System.getProperty("benchmark.jdbc.user", "user"),
+                System.getProperty("benchmark.jdbc.password", "password"));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS search_benchmark CASCADE");
+            statement.execute("CREATE SCHEMA search_benchmark");
+            statement.execute("SET search_path TO search_benchmark");
+            statement.execute("CREATE TABLE categories (id bigint PRIMARY KEY, title varchar(255))");
+            statement.execute("CREATE TABLE products (id bigint PRIMARY KEY, title varchar(255), "
+                    + "description varchar(255), price numeric(19, 2), category_id bigint NOT NULL, search_vector tsvector)");
+
+            // Seed the rows, one product in 50 contains the searched words
+            statement.execute("INSERT INTO categories SELECT g, 'Category ' || g FROM generate_series(1, 100) g");
+            statement.execute("INSERT INTO products (id, title, description, price, category_id) "
+                    + "SELECT g, CASE WHEN g % 50 = 0 THEN 'Wireless mouse ' || g ELSE 'Product ' || md5(g::text) END, "
+                    + "'Description of product ' || md5((g * 7)::text), g % 1000, 1 + g % 100 "
+                    + "FROM generate_series(1, " + products + ") g");
+
+            // Same document and index as the catalog schema
+            statement.execute("UPDATE products p SET search_vector = "
+                    + "setweight(to_tsvector('simple', coalesce(p.title, '')), 'A') || "
+                    + "setweight(to_tsvector('simple', coalesce(c.title, '')), 'B') || "
+                    + "setweight(to_tsvector('simple', coalesce(p.description, '')), 'C') "
+                    + "FROM categories c WHERE c.id = p.category_id");
+            statement.execute("CREATE INDEX idx_products_search_vector ON products USING GIN (search_vector)");
+            statement.execute("ANALYZE products");
+            statement.execute("ANALYZE categories");
+        }
+
+        like = connection.prepareStatement(LIKE_QUERY);
+        likeCount = connection.prepareStatement(LIKE_COUNT);
+        for (int i = 1; i <= 3; i++) {
+            like.setString(i, KEYWORD);
+            likeCount.setString(i, KEYWORD);
+        }
+        String query = ProductSearchQuery.toPrefixQuery(KEYWORD);
+        fullText = connection.prepareStatement(FULL_TEXT_QUERY);
+        fullText.setString(1, query);
+        fullTextCount = connection.prepareStatement(FULL_TEXT_COUNT);
+        fullTextCount.setString(1, query);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS search_benchmark CASCADE");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void likeSearch(Blackhole blackhole) throws SQLException {
+        consume(like, blackhole);
+        consume(likeCount, blackhole);
+    }
+
+    @Benchmark
+    public void fullTextSearch(Blackhole blackhole) throws SQLException {
+        consume(fullText, blackhole);
+        consume(fullTextCount, blackhole);
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getLong(1));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,122 @@
+package org.micromall.catalog.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.micromall.catalog.modules.product.ProductJdbcRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Compares the former purchase lookup, an {@code IN (...)} list with one
+ * parameter per id reading whole product rows as {@code findAllById} does,
+ * with the {@code = ANY(?)} batches of 500 ids reading only the purchase
+ * columns through {@link ProductJdbcRepository}. Needs a running Postgres;
+ * see {@link ProductSearchBenchmark} for the connection properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PurchaseLookupBenchmark {
+
+    private static final int PRODUCTS = 100_000;
+    private static final int BATCH = 500;
+
+    @Param({ "1", "50", "500", "5000" })
+    private int ids;
+
+    private Connection connection;
+    private PreparedStatement inList;
+    private ProductJdbcRepository repository;
+    private long[] productIds;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/catalog_db"),
+                System.getProperty("benchmark.jdbc.user", "user"),
+                System.getProperty("benchmark.jdbc.password", "password"));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS purchase_benchmark CASCADE");
+            statement.execute("CREATE SCHEMA purchase_benchmark");
+            statement.execute("SET search_path TO purchase_benchmark");
+            statement.execute("CREATE TABLE products (id bigint PRIMARY KEY, sku varchar(255), title varchar(255), "
+                    + "description varchar(255), price numeric(19, 2), price_version bigint, category_id bigint NOT NULL, "
+                    + "version bigint, created_at timestamp(6), updated_at timestamp(6))");
+            statement.execute("INSERT INTO products SELECT g, 'SKU-' || g, 'Product ' || g, "
+                    + "'Description ' || md5(g::text), g % 1000, 1, 1 + g % 100, 0, now(), now() "
+                    + "FROM generate_series(1, " + PRODUCTS + ") g");
+            statement.execute("ANALYZE products");
+        }
+
+        productIds = ThreadLocalRandom.current().longs(ids, 1, PRODUCTS + 1).toArray();
+        inList = connection.prepareStatement("SELECT * FROM products WHERE id IN ("
+                + String.join(", ", Collections.nCopies(ids, "?")) + ")");
+        for (int i = 0; i < ids; i++) {
+            inList.setLong(i + 1, productIds[i]);
+        }
+        repository = new ProductJdbcRepository(new JdbcTemplate(new SingleConnectionDataSource(connection, true)));
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS purchase_benchmark CASCADE");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void inList(Blackhole blackhole) throws SQLException {
+        try (ResultSet rows = inList.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getLong("id"));
+                blackhole.consume(rows.getString("title"));
+                blackhole.consume(rows.getBigDecimal("price"));
+            }
+        }
+    }
+
+    @Benchmark
+    public void anyArrayBatches(Blackhole blackhole) {
+        long[] unique = Arrays.stream(productIds).sorted().distinct().toArray();
+        for (int from = 0; from < unique.length; from += BATCH) {
+            blackhole.consume(repository.findPurchaseProducts(
+                    Arrays.copyOfRange(unique, from, Math.min(unique.length, from + BATCH))));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PurchaseLookupBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -11,6 +11,7 @@ import org.micromall.catalog.modules.category.CategoryMapper;
 import org.micromall.catalog.modules.category.CategoryRepository;
 import org.micromall.catalog.modules.category.CategoryRequest;
 import org.micromall.catalog.modules.category.CategoryService;
+import org.micromall.catalog.modules.product.ProductRepository;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -40,6 +41,9 @@ class CategoryServiceTest {
     @Mock
     private CategoryMapper categoryMapper;
 
+    @Mock
+    private ProductRepository productRepository;
+
     private CategoryRequest categoryRequest;
     private Category category;
     private CategoryDTO categoryDTO;
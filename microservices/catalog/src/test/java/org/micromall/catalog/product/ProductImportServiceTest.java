@@ -0,0 +1,194 @@
+package org.micromall.catalog.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.micromall.catalog.kafka.ProductChangedEvent;
+import org.micromall.catalog.kafka.ProductEventProducer;
+import org.micromall.catalog.modules.category.Category;
+import org.micromall.catalog.modules.category.CategoryRepository;
+import org.micromall.catalog.modules.product.Product;
+import org.micromall.catalog.modules.product.ProductImportService;
+import org.micromall.catalog.modules.product.ProductJdbcRepository;
+import org.micromall.catalog.modules.product.ProductJdbcRepository.ProductImportState;
+import org.micromall.catalog.modules.product.ProductJdbcRepository.ProductUpsert;
+import org.micromall.catalog.modules.product.ProductRepository;
+import org.micromall.catalog.modules.product.ProductSuggestionIndex;
+import org.micromall.catalog.modules.product.DTO.ProductImportError;
+import org.micromall.catalog.modules.product.DTO.ProductImportResult;
+import org.micromall.catalog.utils.MyMoney;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+
+    private static final Category BOOKS = Category.builder().id(4L).title("Books").build();
+
+    @Mock
+    private ProductJdbcRepository productJdbcRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private ProductSuggestionIndex productSuggestionIndex;
+
+    @Mock
+    private ProductEventProducer productEventProducer;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache secondLevelCache;
+
+    @Mock
+    private org.hibernate.Cache hibernateCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    // Products in the database by SKU
+    private final Map<String, ProductImportState> stored = new HashMap<>();
+
+    private ProductImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new ProductImportService(productJdbcRepository, categoryRepository, productSuggestionIndex,
+                productEventProducer, entityManagerFactory, transactionTemplate, new ObjectMapper());
+        ReflectionTestUtils.setField(importService, "chunkSize", 100);
+        when(categoryRepository.findAllByIdInOrTitleIn(any(), any())).thenReturn(List.of(BOOKS));
+        when(productJdbcRepository.findBySkus(any())).thenAnswer(invocation -> invocation
+                .<Collection<String>>getArgument(0).stream()
+                .filter(stored::containsKey)
+                .map(stored::get)
+                .toList());
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+        when(secondLevelCache.unwrap(org.hibernate.Cache.class)).thenReturn(hibernateCache);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importCsvValidatesRowsAndCountsTheChanges() throws Exception {
+        stored.put("A-1", new ProductImportState(11L, "A-1", "Lamp", null, MyMoney.parse("10.00"), 4L));
+        stored.put("A-6", new ProductImportState(16L, "A-6", "Sofa", null, MyMoney.parse("89.00"), 4L));
+        doAnswer(invocation -> {
+            for (ProductUpsert row : invocation.<List<ProductUpsert>>getArgument(0)) {
+                stored.putIfAbsent(row.sku(), new ProductImportState(15L, row.sku(), row.title(),
+                        row.description(), row.price(), row.categoryId()));
+            }
+            return null;
+        }).when(productJdbcRepository).upsert(anyList());
+        String csv = """
+                sku,title,description,price,categoryId,category
+                A-1,Lamp,,10.00,4,
+                A-2,Desk,,,4,
+                A-3,Chair,,-1.00,4,
+                ,Stool,,5.00,4,
+                A-4,Shelf,,abc,4,
+                A-5,Old rug,,20.00,,Books
+                A-5,Rug,,25.00,,Books
+                A-6,Sofa,,99.00,4,
+                A-7,Bed,,50.00,99,
+                """;
+
+        ProductImportResult result = importService.importCsv(input(csv));
+
+        assertThat(result.getReceived()).isEqualTo(9);
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getUnchanged()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(6);
+        assertThat(result.getErrors())
+                .filteredOn(error -> error.getLine() != 6L)
+                .extracting(ProductImportError::getLine, ProductImportError::getSku, ProductImportError::getError)
+                .containsExactlyInAnyOrder(
+                        tuple(3L, "A-2", "Price is required"),
+                        tuple(4L, "A-3", "Price must not be negative"),
+                        tuple(5L, null, "SKU is required"),
+                        tuple(7L, "A-5", "Duplicate SKU, superseded by line 8"),
+                        tuple(10L, "A-7", "Category not found"));
+        assertThat(result.getErrors()).filteredOn(error -> error.getLine() == 6L)
+                .singleElement()
+                .satisfies(error -> assertThat(error.getError()).startsWith("Invalid number"));
+
+        // One batch holding the last A-5
+        ArgumentCaptor<List<ProductUpsert>> upserted = ArgumentCaptor.forClass(List.class);
+        verify(productJdbcRepository).upsert(upserted.capture());
+        assertThat(upserted.getValue()).extracting(ProductUpsert::sku, ProductUpsert::title)
+                .containsExactly(tuple("A-1", "Lamp"), tuple("A-5", "Rug"), tuple("A-6", "Sofa"));
+
+        verify(productEventProducer).sendProductChanged(ProductChangedEvent.builder()
+                .productId(16L).price(MyMoney.parse("99.00")).deleted(false).build());
+        verify(secondLevelCache).evict(Product.class, 16L);
+        verify(hibernateCache).evictQueryRegion(ProductRepository.LIST_TAG_REGION);
+        verify(productSuggestionIndex).putAll(Map.of(15L, "Rug", 16L, "Sofa"));
+    }
+
+    @Test
+    void rejectedBatchIsRetriedRowByRow() throws Exception {
+        doAnswer(invocation -> {
+            List<ProductUpsert> rows = invocation.getArgument(0);
+            if (rows.stream().anyMatch(row -> row.sku().equals("BAD"))) {
+                throw new DataIntegrityViolationException("value too long for type character varying(255)");
+            }
+            for (ProductUpsert row : rows) {
+                stored.put(row.sku(), new ProductImportState(20L + stored.size(), row.sku(), row.title(),
+                        row.description(), row.price(), row.categoryId()));
+            }
+            return null;
+        }).when(productJdbcRepository).upsert(anyList());
+        String ndjson = """
+                {"sku":"A-1","title":"Lamp","price":10.00,"categoryId":4}
+                {"sku":"BAD","title":"Desk","price":120.00,"categoryId":4}
+                {"sku":"A-3","title":"Chair","price":45.50,"category":"Books"}
+                """;
+
+        ProductImportResult result = importService.importNdjson(input(ndjson));
+
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors())
+                .extracting(ProductImportError::getLine, ProductImportError::getSku, ProductImportError::getError)
+                .containsExactly(tuple(2L, "BAD", "value too long for type character varying(255)"));
+        // The batch, then each of its rows
+        verify(productJdbcRepository, times(4)).upsert(anyList());
+        verifyNoInteractions(productEventProducer);
+        verify(hibernateCache).evictQueryRegion(ProductRepository.LIST_TAG_REGION);
+    }
+
+    private static ByteArrayInputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
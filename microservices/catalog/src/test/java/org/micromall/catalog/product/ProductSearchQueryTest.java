@@ -0,0 +1,26 @@
+package org.micromall.catalog.product;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.micromall.catalog.modules.product.ProductSearchQuery;
+
+class ProductSearchQueryTest {
+
+    @Test
+    void buildsPrefixTermsJoinedWithAnd() {
+        assertEquals("wireless:* & mou:*", ProductSearchQuery.toPrefixQuery("  Wireless MOU"));
+    }
+
+    @Test
+    void dropsTsqueryOperators() {
+        assertEquals("usb:* & c:* & cable:*", ProductSearchQuery.toPrefixQuery("usb-c & !cable:*"));
+    }
+
+    @Test
+    void returnsNullWithoutSearchableTerm() {
+        assertNull(ProductSearchQuery.toPrefixQuery(" &|! "));
+        assertNull(ProductSearchQuery.toPrefixQuery(null));
+    }
+}
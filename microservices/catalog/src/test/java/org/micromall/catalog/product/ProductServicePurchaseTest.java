@@ -0,0 +1,123 @@
+package org.micromall.catalog.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.micromall.catalog.kafka.ProductChangedEvent;
+import org.micromall.catalog.kafka.ProductEventProducer;
+import org.micromall.catalog.modules.category.Category;
+import org.micromall.catalog.modules.category.CategoryRepository;
+import org.micromall.catalog.modules.product.Product;
+import org.micromall.catalog.modules.product.ProductJdbcRepository;
+import org.micromall.catalog.modules.product.ProductMapper;
+import org.micromall.catalog.modules.product.ProductPriceRepository;
+import org.micromall.catalog.modules.product.ProductRepository;
+import org.micromall.catalog.modules.product.ProductRequest;
+import org.micromall.catalog.modules.product.ProductService;
+import org.micromall.catalog.modules.product.ProductSuggestionIndex;
+import org.micromall.catalog.modules.product.DTO.PurchaseProducts;
+import org.micromall.catalog.modules.product.DTO.PurchaseVerification;
+import org.micromall.catalog.modules.product.DTO.PurchaseVersion;
+import org.micromall.catalog.utils.MyMoney;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class ProductServicePurchaseTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private ProductEventProducer productEventProducer;
+
+    @Mock
+    private ProductSuggestionIndex productSuggestionIndex;
+
+    @Mock
+    private ProductJdbcRepository productJdbcRepository;
+
+    @Mock
+    private ProductPriceRepository productPriceRepository;
+
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        productService = new ProductService(productRepository, productMapper, categoryRepository,
+                productEventProducer, productSuggestionIndex, productJdbcRepository, productPriceRepository);
+        ReflectionTestUtils.setField(productService, "purchaseMaxIds", 100);
+        ReflectionTestUtils.setField(productService, "purchaseBatchSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void verifyPurchaseProductsReportsChangedAndMissingProducts() {
+        PurchaseProducts fresh = new PurchaseProducts(1L, "Fresh", MyMoney.parse("10.00"), 3L);
+        PurchaseProducts repriced = new PurchaseProducts(2L, "Repriced", MyMoney.parse("12.50"), 5L);
+        when(productJdbcRepository.findPurchaseProducts(any())).thenAnswer(invocation -> {
+            long[] ids = invocation.getArgument(0);
+            return Arrays.stream(ids)
+                    .mapToObj(id -> id == 1L ? fresh : id == 2L ? repriced : null)
+                    .filter(Objects::nonNull)
+                    .toList();
+        });
+
+        PurchaseVerification verification = productService.verifyPurchaseProducts(List.of(
+                new PurchaseVersion(1L, 3L),
+                new PurchaseVersion(2L, 4L),
+                new PurchaseVersion(3L, 1L)));
+
+        assertThat(verification.getChanged()).containsExactly(repriced);
+        assertThat(verification.getMissing()).containsExactly(3L);
+    }
+
+    @Test
+    void updatePublishesThePriceChangeOnlyAfterCommit() {
+        Category category = Category.builder().id(4L).title("Books").build();
+        Product product = Product.builder().id(1L).title("Book").price(MyMoney.parse("10.00"))
+                .priceVersion(1L).category(category).build();
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.saveAndFlush(product)).thenReturn(product);
+        TransactionSynchronizationManager.initSynchronization();
+
+        productService.update(new ProductRequest("Book", "Paperback", MyMoney.parse("12.00"), 4L), 1L);
+
+        verifyNoInteractions(productEventProducer, productSuggestionIndex);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        ArgumentCaptor<ProductChangedEvent> event = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(productEventProducer).sendProductChanged(event.capture());
+        assertThat(event.getValue().productId()).isEqualTo(1L);
+        assertThat(event.getValue().price()).isEqualTo(MyMoney.parse("12.00"));
+        verify(productSuggestionIndex).put(1L, "Book");
+        assertThat(product.getPriceVersion()).isEqualTo(2L);
+    }
+}
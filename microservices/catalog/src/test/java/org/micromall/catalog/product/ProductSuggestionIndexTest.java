@@ -0,0 +1,94 @@
+package org.micromall.catalog.product;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.micromall.catalog.modules.product.ProductRepository;
+import org.micromall.catalog.modules.product.ProductSuggestionIndex;
+import org.micromall.catalog.modules.product.DTO.ProductSuggestion;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ProductSuggestionIndexTest {
+
+    private ProductSuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllSuggestions()).thenReturn(List.of(
+                new ProductSuggestion(1L, "Wireless Mouse"),
+                new ProductSuggestion(2L, "Gaming mouse pad"),
+                new ProductSuggestion(3L, "Écran 27 pouces")));
+        index = new ProductSuggestionIndex(productRepository, new SimpleMeterRegistry(), 1000);
+        index.rebuild();
+    }
+
+    @Test
+    void ranksShorterTitlesFirstAndMatchesEveryToken() {
+        List<ProductSuggestion> suggestions = index.suggest("mou", 10);
+
+        assertEquals(List.of(1L, 2L), suggestions.stream().map(ProductSuggestion::getId).toList());
+        assertEquals(List.of(2L), index.suggest("Gaming mo", 10).stream().map(ProductSuggestion::getId).toList());
+    }
+
+    @Test
+    void suggestsTitlesStartingWithTheQueryFirst() {
+        index.put(4L, "Mouse pad with wrist rest for office and gaming desks");
+
+        assertEquals(List.of(4L, 1L, 2L), index.suggest("mou", 10).stream().map(ProductSuggestion::getId).toList());
+    }
+
+    @Test
+    void suggestsATitleOnceWhenSeveralOfItsTokensMatch() {
+        index.put(4L, "Wireless wired mouse");
+
+        assertEquals(List.of(1L, 4L), index.suggest("wi", 10).stream().map(ProductSuggestion::getId).toList());
+        assertEquals(List.of(1L), index.suggest("wi", 1).stream().map(ProductSuggestion::getId).toList());
+    }
+
+    @Test
+    void ranksTheNewestProductsWhenTheCandidatesAreCapped() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllSuggestions()).thenReturn(List.of(
+                new ProductSuggestion(1L, "Mouse 1"),
+                new ProductSuggestion(2L, "Mouse 2"),
+                new ProductSuggestion(3L, "Mouse 3"),
+                new ProductSuggestion(4L, "Mouse 4")));
+        ProductSuggestionIndex capped = new ProductSuggestionIndex(productRepository, new SimpleMeterRegistry(), 2);
+        capped.rebuild();
+
+        assertEquals(List.of(4L, 3L), capped.suggest("mou", 10).stream().map(ProductSuggestion::getId).toList());
+    }
+
+    @Test
+    void matchesWithoutAccents() {
+        assertEquals(3L, index.suggest("ecr", 10).getFirst().getId());
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        index.put(1L, "Bluetooth keyboard");
+        index.remove(2L);
+
+        assertTrue(index.suggest("mou", 10).isEmpty());
+        assertEquals(1L, index.suggest("blue", 10).getFirst().getId());
+    }
+
+    @Test
+    void indexesBatches() {
+        index.putAll(Map.of(
+                2L, "Gaming keyboard",
+                4L, "Mouse bungee"));
+
+        assertEquals(List.of(4L, 1L), index.suggest("mou", 10).stream().map(ProductSuggestion::getId).toList());
+        assertEquals(2L, index.suggest("keyb", 10).getFirst().getId());
+    }
+}
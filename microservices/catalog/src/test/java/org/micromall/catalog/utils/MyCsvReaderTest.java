@@ -0,0 +1,27 @@
+package org.micromall.catalog.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MyCsvReaderTest {
+
+    @Test
+    void readsQuotedFieldsAcrossLines() throws IOException {
+        MyCsvReader reader = new MyCsvReader(new StringReader(
+                "sku,title\r\nA-1,\"Mouse, \"\"wireless\"\"\"\nA-2,\"Two\nlines\"\nA-3,"));
+
+        assertEquals(List.of("sku", "title"), reader.next());
+        assertEquals(List.of("A-1", "Mouse, \"wireless\""), reader.next());
+        assertEquals(List.of("A-2", "Two\nlines"), reader.next());
+        assertEquals(3, reader.recordLine());
+        assertEquals(List.of("A-3", ""), reader.next());
+        assertEquals(5, reader.recordLine());
+        assertNull(reader.next());
+    }
+}
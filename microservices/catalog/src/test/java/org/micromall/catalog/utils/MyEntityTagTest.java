@@ -0,0 +1,30 @@
+package org.micromall.catalog.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.micromall.catalog.modules.category.Category;
+import org.micromall.catalog.modules.product.Product;
+
+class MyEntityTagTest {
+
+    @Test
+    void embeddedEntityChangesTheTag() {
+        LocalDateTime created = LocalDateTime.of(2026, 1, 1, 10, 0);
+        Category category = Category.builder().id(3L).version(0L).updatedAt(created).title("Mice").build();
+        Product product = Product.builder().id(7L).version(2L).updatedAt(created).category(category).build();
+        MyEntityTag before = MyEntityTag.of(product, category);
+
+        // Renaming the category leaves the product untouched
+        category.setTitle("Pointing devices");
+        category.setVersion(1L);
+        category.setUpdatedAt(created.plusHours(1));
+        MyEntityTag after = MyEntityTag.of(product, category);
+
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(after.lastModified()).isGreaterThan(before.lastModified());
+        assertThat(MyEntityTag.of(product, null)).isEqualTo(MyEntityTag.of(product));
+    }
+}
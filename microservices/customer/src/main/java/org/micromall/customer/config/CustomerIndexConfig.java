@@ -0,0 +1,82 @@
+package org.micromall.customer.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.micromall.customer.customer.Customer;
+import org.micromall.customer.customer.CustomerSearchKeys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Creates the customer search indexes at startup and fills the search keys
+ * of the documents written before they existed.
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerIndexConfig {
+
+    // Logger
+    private static final Logger logger = LoggerFactory.getLogger(CustomerIndexConfig.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${customer.search.backfill-batch-size:1000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureSearchIndexes() {
+        IndexOperations indexes = mongoTemplate.indexOps(Customer.class);
+        // Multikey index, one entry per token
+        indexes.ensureIndex(new Index().on(CustomerSearchKeys.TOKENS, Sort.Direction.ASC).named("idx_customers_search_tokens"));
+        indexes.ensureIndex(new Index().on(CustomerSearchKeys.EMAIL, Sort.Direction.ASC).named("idx_customers_search_email"));
+        indexes.ensureIndex(new Index().on(CustomerSearchKeys.PHONE, Sort.Direction.ASC).named("idx_customers_search_phone"));
+        indexes.ensureIndex(new Index().on(CustomerSearchKeys.ZIP, Sort.Direction.ASC).named("idx_customers_search_zip"));
+        backfillSearchKeys();
+    }
+
+    private void backfillSearchKeys() {
+        Query missing = new Query(Criteria.where(CustomerSearchKeys.FIELD).exists(false));
+        long updated = 0;
+        try (Stream<Customer> customers = mongoTemplate.stream(missing, Customer.class)) {
+            List<Pair<Query, Update>> batch = new ArrayList<>(batchSize);
+            for (Customer customer : (Iterable<Customer>) customers::iterator) {
+                batch.add(Pair.of(new Query(Criteria.where("_id").is(customer.getId())),
+                        new Update().set(CustomerSearchKeys.FIELD, CustomerSearchKeys.of(customer))));
+                if (batch.size() == batchSize) {
+                    updated += write(batch);
+                }
+            }
+            updated += write(batch);
+        }
+        if (updated > 0) {
+            logger.info("Search keys added to {} customers", updated);
+        }
+    }
+
+    private int write(List<Pair<Query, Update>> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int size = batch.size();
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Customer.class).updateOne(batch).execute();
+        batch.clear();
+        return size;
+    }
+}
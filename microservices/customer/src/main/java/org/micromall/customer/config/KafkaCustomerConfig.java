@@ -0,0 +1,59 @@
+package org.micromall.customer.config;
+
+import java.util.Map;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.micromall.customer.kafka.CustomerChangedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+@Configuration
+public class KafkaCustomerConfig {
+
+    @Value("${kafka.customer.topic}")
+    private String topic;
+
+    @Value("${kafka.customer.producer.compression:lz4}")
+    private String compression;
+
+    @Value("${kafka.customer.producer.linger-ms:20}")
+    private int lingerMs;
+
+    @Bean
+    public NewTopic customerTopic() {
+        return TopicBuilder
+                .name(topic)
+                .build();
+    }
+
+    @Bean
+    public ProducerFactory<String, CustomerChangedEvent> customerProducerFactory(
+            KafkaProperties kafkaProperties,
+            ObjectProvider<SslBundles> sslBundles) {
+        Map<String, Object> properties = kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable());
+        // Bursts of changes are sent in a few compressed batches
+        properties.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        properties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compression);
+        JsonSerializer<CustomerChangedEvent> serializer = new JsonSerializer<>();
+        serializer.setAddTypeInfo(false);
+        return new DefaultKafkaProducerFactory<>(properties, new StringSerializer(), serializer);
+    }
+
+    @Bean
+    public KafkaTemplate<String, CustomerChangedEvent> customerKafkaTemplate(
+            ProducerFactory<String, CustomerChangedEvent> customerProducerFactory) {
+        return new KafkaTemplate<>(customerProducerFactory);
+    }
+
+}
@@ -1,13 +1,18 @@
 package org.micromall.customer.customer;
 
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.micromall.customer.utils.MyResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,6 +23,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -25,7 +31,10 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class CustomerController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     private final CustomerService customerService;
+    private final CustomerImportService customerImportService;
 
     // Endpoint to create a new customer
     @PostMapping("/api/v1/customer")
@@ -88,4 +97,56 @@ public class CustomerController {
         return ResponseEntity.status(HttpStatus.OK).body(customersPage);
     }
 
+    // Bulk upsert customers keyed by email from a CSV or NDJSON feed, invalid rows are reported
+    @PostMapping(value = "/api/v1/customers/import", consumes = { "text/csv", "application/x-ndjson" })
+    public ResponseEntity<MyResponse> importCustomers(HttpServletRequest request) throws IOException {
+        CustomerImportResult result = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(TEXT_CSV)
+                ? customerImportService.importCsv(request.getInputStream())
+                : customerImportService.importNdjson(request.getInputStream());
+        return ResponseEntity.ok(MyResponse.builder()
+                .message("Customers imported")
+                .data(result)
+                .build());
+    }
+
+    // Fetch many customers in one call, the response maps each found id to its customer
+    @PostMapping("/api/v1/customers/batch")
+    public ResponseEntity<Map<String, CustomerDTO>> getCustomers(@RequestBody Set<String> ids) {
+        return ResponseEntity.ok(customerService.fetchAllById(ids));
+    }
+
+    /**
+     * Lightweight customer list for grids: id, names and email only, keyset
+     * paged on the id without counting. Pass the returned "next" as "after"
+     * for the following page; "total" is only computed when asked for and
+     * is an estimate.
+     */
+    @GetMapping("/api/v1/customers/list")
+    public ResponseEntity<MyResponse> listCustomers(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "false") boolean total) {
+        Slice<CustomerSummary> customers = customerService.fetchSummaries(after, Math.clamp(size, 1, 100), search);
+
+        // Create a meta object
+        Map<String, Object> meta = new HashMap<>();
+        meta.put("size", customers.getNumberOfElements());
+        meta.put("hasNext", customers.hasNext());
+        if (customers.hasNext()) {
+            meta.put("next", customers.getContent().getLast().getId());
+        }
+        if (total) {
+            CustomerTotal estimate = customerService.estimateTotal(search);
+            meta.put("total", estimate.count());
+            meta.put("totalAtLeast", estimate.atLeast());
+        }
+
+        return ResponseEntity.ok(MyResponse.builder()
+                .message("Customers fetched successfully")
+                .data(customers.getContent())
+                .meta(meta)
+                .build());
+    }
+
 }
@@ -0,0 +1,16 @@
+package org.micromall.customer.customer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CustomerImportError {
+    private Long line;
+    private String email;
+    private String error;
+}
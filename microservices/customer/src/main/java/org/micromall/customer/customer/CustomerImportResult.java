@@ -0,0 +1,25 @@
+package org.micromall.customer.customer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CustomerImportResult {
+    private long received;
+    private long created;
+    private long updated;
+    private long unchanged;
+    private long failed;
+    private long durationMs;
+    // Only the first errors are listed, failed holds the total
+    @Builder.Default
+    private List<CustomerImportError> errors = new ArrayList<>();
+}
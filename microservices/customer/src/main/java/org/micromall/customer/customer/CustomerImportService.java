@@ -0,0 +1,274 @@
+package org.micromall.customer.customer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.micromall.customer.exception.MyBadRequestException;
+import org.micromall.customer.utils.MyCsvReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Imports a partner feed (CSV or NDJSON) of customers keyed by email. The
+ * input is read incrementally and every row is validated like a create
+ * request. Valid rows are spread over {@code concurrency} lanes by email and
+ * each lane upserts its chunks with one unordered bulk write at a time, so
+ * the lanes write in parallel while the rows of one email stay in order and
+ * at most two chunks per lane are held in memory. Rows rejected by the
+ * validation or by Mongo are reported without stopping the import.
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomerImportService {
+
+    // Logger
+    Logger logger = LoggerFactory.getLogger(getClass().getName());
+
+    private static final int MAX_LISTED_ERRORS = 1000;
+
+    private final CustomerRepository repository;
+    private final CustomerMapper mapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${customer.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${customer.import.concurrency:4}")
+    private int concurrency;
+
+    // CSV with a header line naming the columns: lastName, firstName, email, phone, street, city, state, zip, country
+    public CustomerImportResult importCsv(InputStream input) throws IOException {
+        MyCsvReader reader = new MyCsvReader(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new MyBadRequestException("The CSV input has no header line");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("email")) {
+            throw new MyBadRequestException("The CSV header has no email column", "email");
+        }
+
+        try (ImportRun run = new ImportRun()) {
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                Address address = Address.builder()
+                        .street(field(record, columns, "street"))
+                        .city(field(record, columns, "city"))
+                        .state(field(record, columns, "state"))
+                        .zip(field(record, columns, "zip"))
+                        .country(field(record, columns, "country"))
+                        .build();
+                run.add(reader.recordLine(), CustomerRequest.builder()
+                        .lastName(field(record, columns, "lastname"))
+                        .firstName(field(record, columns, "firstname"))
+                        .email(field(record, columns, "email"))
+                        .phone(field(record, columns, "phone"))
+                        .address(address.equals(new Address()) ? null : address)
+                        .build(), null);
+            }
+            return run.finish();
+        }
+    }
+
+    // One JSON customer per line, shaped like the create request
+    public CustomerImportResult importNdjson(InputStream input) throws IOException {
+        ObjectReader rowReader = objectMapper.readerFor(CustomerRequest.class);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        try (ImportRun run = new ImportRun()) {
+            String text;
+            long line = 0;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    run.add(line, rowReader.readValue(text), null);
+                } catch (JsonProcessingException e) {
+                    run.add(line, null, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+            return run.finish();
+        }
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private record ImportRow(long line, String key, Customer customer) {
+    }
+
+    // State of one import: the lanes, their pending chunks and the running totals
+    private class ImportRun implements AutoCloseable {
+
+        private final long start = System.currentTimeMillis();
+        private final CustomerImportResult result = new CustomerImportResult();
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private final Lane[] lanes = new Lane[Math.max(1, concurrency)];
+
+        ImportRun() {
+            for (int i = 0; i < lanes.length; i++) {
+                lanes[i] = new Lane();
+            }
+        }
+
+        void add(long line, CustomerRequest request, String error) {
+            synchronized (result) {
+                result.setReceived(result.getReceived() + 1);
+            }
+            if (error == null) {
+                error = validate(request);
+            }
+            if (error != null) {
+                fail(line, request == null ? null : request.email(), error);
+                return;
+            }
+            // Same email as the upsert matches on, without the truncation of the search key
+            String key = request.email().trim().toLowerCase(Locale.ROOT);
+            lanes[Math.floorMod(key.hashCode(), lanes.length)].add(new ImportRow(line, key, mapper.toEntity(request)));
+        }
+
+        CustomerImportResult finish() {
+            for (Lane lane : lanes) {
+                lane.flush();
+            }
+            CompletableFuture.allOf(Arrays.stream(lanes)
+                    .map(lane -> lane.writing)
+                    .toArray(CompletableFuture[]::new)).join();
+            result.setDurationMs(System.currentTimeMillis() - start);
+            logger.info("Imported {} customers: {} created, {} updated, {} unchanged, {} failed in {} ms",
+                    result.getReceived(), result.getCreated(), result.getUpdated(), result.getUnchanged(),
+                    result.getFailed(), result.getDurationMs());
+            return result;
+        }
+
+        // Waits for the chunks still being written when the input fails midway
+        @Override
+        public void close() {
+            executor.close();
+        }
+
+        private void write(List<ImportRow> rows) {
+            try {
+                written(repository.upsertAllByEmail(rows.stream().map(ImportRow::customer).toList()));
+            } catch (BulkOperationException e) {
+                // Unordered: the other rows of the chunk were written
+                written(e.getResult());
+                for (BulkWriteError error : e.getErrors()) {
+                    ImportRow row = rows.get(error.getIndex());
+                    fail(row.line(), row.customer().getEmail(), error.getMessage());
+                }
+            } catch (DataAccessException e) {
+                logger.warn("Import chunk of {} customers rejected", rows.size(), e);
+                for (ImportRow row : rows) {
+                    fail(row.line(), row.customer().getEmail(), e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        private void written(BulkWriteResult written) {
+            synchronized (result) {
+                result.setCreated(result.getCreated() + written.getUpserts().size());
+                result.setUpdated(result.getUpdated() + written.getModifiedCount());
+                result.setUnchanged(result.getUnchanged() + written.getMatchedCount() - written.getModifiedCount());
+            }
+        }
+
+        private void fail(long line, String email, String error) {
+            synchronized (result) {
+                result.setFailed(result.getFailed() + 1);
+                if (result.getErrors().size() < MAX_LISTED_ERRORS) {
+                    result.getErrors().add(new CustomerImportError(line, email, error));
+                }
+            }
+        }
+
+        // Rows of the same emails, written one chunk at a time
+        private class Lane {
+
+            private final Map<String, ImportRow> chunk = new LinkedHashMap<>();
+            private CompletableFuture<Void> writing = CompletableFuture.completedFuture(null);
+
+            void add(ImportRow row) {
+                // The last occurrence of an email in the chunk wins
+                ImportRow previous = chunk.put(row.key(), row);
+                if (previous != null) {
+                    fail(previous.line(), previous.customer().getEmail(),
+                            "Duplicate email, superseded by line " + row.line());
+                }
+                if (chunk.size() >= batchSize) {
+                    flush();
+                }
+            }
+
+            void flush() {
+                if (chunk.isEmpty()) {
+                    return;
+                }
+                List<ImportRow> rows = new ArrayList<>(chunk.values());
+                chunk.clear();
+                // Wait for the previous chunk of the lane, this bounds the memory and keeps an email's rows in order
+                writing.join();
+                writing = CompletableFuture.runAsync(() -> write(rows), executor);
+            }
+        }
+    }
+
+    // Constraints violated by the row, as "field: message"
+    private String validate(CustomerRequest request) {
+        if (request == null) {
+            return "Empty row";
+        }
+        Set<ConstraintViolation<CustomerRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,32 @@
+package org.micromall.customer.customer;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.mongodb.bulk.BulkWriteResult;
+
+// Repository methods built by hand on the MongoTemplate
+public interface CustomerRepositoryCustom {
+
+    Page<Customer> search(String keyword, Pageable pageable);
+
+    // Up to limit summaries with an id lower than afterId, newest first, optionally filtered by a keyword
+    List<CustomerSummary> findSummaries(ObjectId afterId, String keyword, int limit);
+
+    // Number of customers matching the keyword, counting stops at cap
+    long countSearch(String keyword, long cap);
+
+    // Collection size from its metadata, without scanning
+    long estimateCount();
+
+    // Customers with the given ids in one $in query, without their search keys
+    List<Customer> findAllProjected(Collection<String> ids);
+
+    // Insert or replace the fields of the customers matched by email in one unordered bulk write
+    BulkWriteResult upsertAllByEmail(List<Customer> customers);
+
+}
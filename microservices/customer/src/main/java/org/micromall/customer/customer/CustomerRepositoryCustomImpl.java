@@ -0,0 +1,146 @@
+package org.micromall.customer.customer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.data.util.Pair;
+
+import com.mongodb.bulk.BulkWriteResult;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Indexed customer search on the keys maintained by
+ * {@link CustomerSearchCallback}. A keyword that looks like an email, a phone
+ * number or a zip code is matched against that field only; anything else is
+ * split into terms that must each prefix one of the customer's tokens. Every
+ * criterion is an anchored, escaped regex, which Mongo turns into an index
+ * range scan.
+ */
+@RequiredArgsConstructor
+public class CustomerRepositoryCustomImpl implements CustomerRepositoryCustom {
+
+    private static final Pattern EMAIL_LIKE = Pattern.compile("^\\S*@\\S*$");
+    private static final Pattern ZIP_LIKE = Pattern.compile("^[0-9]{3,6}(-[0-9]{4})?$");
+    private static final Pattern PHONE_LIKE = Pattern.compile("^\\+?[0-9. ()-]{7,25}$");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Page<Customer> search(String keyword, Pageable pageable) {
+        Criteria criteria = criteria(keyword.trim());
+        if (criteria == null) {
+            return Page.empty(pageable);
+        }
+        Query query = new Query(criteria).with(pageable);
+        List<Customer> customers = mongoTemplate.find(query, Customer.class);
+        return PageableExecutionUtils.getPage(customers, pageable,
+                () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), Customer.class));
+    }
+
+    @Override
+    public List<CustomerSummary> findSummaries(ObjectId afterId, String keyword, int limit) {
+        List<Criteria> criteria = new ArrayList<>(2);
+        if (keyword != null) {
+            Criteria search = criteria(keyword.trim());
+            if (search == null) {
+                return List.of();
+            }
+            criteria.add(search);
+        }
+        if (afterId != null) {
+            criteria.add(Criteria.where("_id").lt(afterId));
+        }
+        Query query = new Query(criteria.isEmpty() ? new Criteria() : new Criteria().andOperator(criteria))
+                .with(Sort.by(Sort.Direction.DESC, "_id"))
+                .limit(limit);
+        // Only the list fields are read from the documents
+        query.fields().include("firstName", "lastName", "email");
+        return mongoTemplate.find(query, CustomerSummary.class, mongoTemplate.getCollectionName(Customer.class));
+    }
+
+    @Override
+    public long countSearch(String keyword, long cap) {
+        Criteria search = criteria(keyword.trim());
+        if (search == null) {
+            return 0;
+        }
+        return mongoTemplate.count(new Query(search).limit((int) Math.min(cap, Integer.MAX_VALUE)), Customer.class);
+    }
+
+    @Override
+    public long estimateCount() {
+        return mongoTemplate.estimatedCount(Customer.class);
+    }
+
+    @Override
+    public List<Customer> findAllProjected(Collection<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids));
+        query.fields().exclude(CustomerSearchKeys.FIELD);
+        return mongoTemplate.find(query, Customer.class);
+    }
+
+    @Override
+    public BulkWriteResult upsertAllByEmail(List<Customer> customers) {
+        List<Pair<Query, Update>> upserts = new ArrayList<>(customers.size());
+        for (Customer customer : customers) {
+            String email = CustomerSearchKeys.email(customer.getEmail());
+            Criteria byEmail = Criteria.where(CustomerSearchKeys.EMAIL).is(email);
+            // The normalized email is truncated, longer ones are told apart by the stored email
+            if (email.length() < customer.getEmail().trim().length()) {
+                byEmail = byEmail.and("email").is(customer.getEmail());
+            }
+            // Bulk writes skip the save callbacks, the search keys are set here
+            upserts.add(Pair.of(new Query(byEmail), new Update()
+                    .set("lastName", customer.getLastName())
+                    .set("firstName", customer.getFirstName())
+                    .set("email", customer.getEmail())
+                    .set("phone", customer.getPhone())
+                    .set("address", customer.getAddress())
+                    .set(CustomerSearchKeys.FIELD, CustomerSearchKeys.of(customer))));
+        }
+        return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Customer.class).upsert(upserts).execute();
+    }
+
+    // Null when the keyword has nothing searchable
+    static Criteria criteria(String keyword) {
+        if (EMAIL_LIKE.matcher(keyword).matches()) {
+            return prefix(CustomerSearchKeys.EMAIL, CustomerSearchKeys.email(keyword));
+        }
+        if (ZIP_LIKE.matcher(keyword).matches()) {
+            return prefix(CustomerSearchKeys.ZIP, CustomerSearchKeys.zip(keyword));
+        }
+        if (PHONE_LIKE.matcher(keyword).matches()) {
+            return prefix(CustomerSearchKeys.PHONE, CustomerSearchKeys.digits(keyword));
+        }
+        List<String> terms = CustomerSearchKeys.terms(keyword);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        if (terms.size() == 1) {
+            return prefix(CustomerSearchKeys.TOKENS, terms.get(0));
+        }
+        return new Criteria().andOperator(terms.stream()
+                .map(term -> prefix(CustomerSearchKeys.TOKENS, term))
+                .toArray(Criteria[]::new));
+    }
+
+    private static Criteria prefix(String field, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        return Criteria.where(field).regex(CustomerSearchKeys.prefixRegex(value));
+    }
+}
@@ -0,0 +1,16 @@
+package org.micromall.customer.customer;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveCallback;
+import org.springframework.stereotype.Component;
+
+// Writes the search keys into every customer document saved, they are not part of the entity
+@Component
+public class CustomerSearchCallback implements BeforeSaveCallback<Customer> {
+
+    @Override
+    public Customer onBeforeSave(Customer entity, Document document, String collection) {
+        document.put(CustomerSearchKeys.FIELD, CustomerSearchKeys.of(entity));
+        return entity;
+    }
+}
@@ -0,0 +1,129 @@
+package org.micromall.customer.customer;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.bson.Document;
+
+/**
+ * Normalized search keys stored with each customer document under
+ * {@code search}: the lowercased, accent-free word tokens of the name, email,
+ * phone and address fields in a multikey-indexed array, plus the email, the
+ * phone digits and the zip code on their own for field-targeted lookups.
+ * Searches are anchored prefix matches on these keys, so they use the
+ * indexes instead of scanning the collection.
+ */
+public final class CustomerSearchKeys {
+
+    public static final String FIELD = "search";
+    public static final String TOKENS = FIELD + ".tokens";
+    public static final String EMAIL = FIELD + ".email";
+    public static final String PHONE = FIELD + ".phone";
+    public static final String ZIP = FIELD + ".zip";
+
+    // Longer keywords are truncated, more terms are ignored
+    static final int MAX_TOKEN_LENGTH = 64;
+    static final int MAX_TERMS = 8;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private CustomerSearchKeys() {
+    }
+
+    // Search keys of a customer, written by CustomerSearchCallback on every save
+    public static Document of(Customer customer) {
+        Set<String> tokens = new LinkedHashSet<>();
+        addTokens(tokens, customer.getFirstName());
+        addTokens(tokens, customer.getLastName());
+        addTokens(tokens, customer.getEmail());
+        String phone = digits(customer.getPhone());
+        if (phone != null) {
+            tokens.add(phone);
+        }
+
+        Document keys = new Document();
+        Address address = customer.getAddress();
+        if (address != null) {
+            addTokens(tokens, address.getStreet());
+            addTokens(tokens, address.getCity());
+            addTokens(tokens, address.getState());
+            addTokens(tokens, address.getZip());
+            addTokens(tokens, address.getCountry());
+            keys.put("zip", zip(address.getZip()));
+        }
+        keys.put("tokens", new ArrayList<>(tokens));
+        keys.put("email", email(customer.getEmail()));
+        keys.put("phone", phone);
+        return keys;
+    }
+
+    // Distinct normalized terms of a keyword, every one of them must prefix a token
+    public static List<String> terms(String keyword) {
+        Set<String> terms = new LinkedHashSet<>();
+        addTokens(terms, keyword);
+        return terms.stream().limit(MAX_TERMS).toList();
+    }
+
+    public static String email(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return truncate(value.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public static String digits(String value) {
+        if (value == null) {
+            return null;
+        }
+        String digits = NON_DIGITS.matcher(value).replaceAll("");
+        return digits.isEmpty() ? null : truncate(digits);
+    }
+
+    public static String zip(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return truncate(WHITESPACE.matcher(value.trim()).replaceAll("").toLowerCase(Locale.ROOT));
+    }
+
+    // Anchored prefix regex with every character of the user input taken literally
+    public static String prefixRegex(String value) {
+        StringBuilder regex = new StringBuilder(value.length() + 8).append('^');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                regex.append('\\');
+            }
+            regex.append(c);
+        }
+        return regex.toString();
+    }
+
+    private static void addTokens(Set<String> tokens, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        for (String token : SEPARATORS.split(fold(value))) {
+            if (!token.isEmpty()) {
+                tokens.add(truncate(token));
+            }
+        }
+    }
+
+    // Lowercase and strip the accents so "Élodie" is found with "elo"
+    private static String fold(String value) {
+        return MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFKD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static String truncate(String value) {
+        return value.length() > MAX_TOKEN_LENGTH ? value.substring(0, MAX_TOKEN_LENGTH) : value;
+    }
+}
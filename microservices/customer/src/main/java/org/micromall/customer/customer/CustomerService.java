@@ -1,13 +1,22 @@
 package org.micromall.customer.customer;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.bson.types.ObjectId;
+import org.micromall.customer.exception.MyBadRequestException;
+import org.micromall.customer.exception.MyNotFoundException;
 import org.micromall.customer.exception.MyNotSaveException;
 import org.micromall.customer.interfaces.IDaoService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
@@ -21,6 +30,12 @@ public class CustomerService implements IDaoService<Customer, CustomerDTO, Custo
     private final CustomerRepository repository;
     private final CustomerMapper mapper;
 
+    @Value("${customer.list.count-cap:10000}")
+    private long countCap;
+
+    @Value("${customer.batch.max-ids:1000}")
+    private int batchMaxIds;
+
     @Override
     public CustomerDTO create(CustomerRequest request) throws MyNotSaveException {
         Customer entity = mapper.toEntity(request);
@@ -54,9 +69,9 @@ public class CustomerService implements IDaoService<Customer, CustomerDTO, Custo
     }
 
     @Override
-    public CustomerDTO fetchById(String id) throws MyNotSaveException {
+    public CustomerDTO fetchById(String id) throws MyNotFoundException {
         Customer entity = repository.findById(id)
-                .orElseThrow(() -> new MyNotSaveException("Customer not found"));
+                .orElseThrow(() -> new MyNotFoundException("Customer not found"));
         return mapper.toDTO(entity);
     }
 
@@ -85,4 +100,45 @@ public class CustomerService implements IDaoService<Customer, CustomerDTO, Custo
         return customers;
     }
 
+    // Customers with the given ids keyed by id, unknown and malformed ids are left out
+    public Map<String, CustomerDTO> fetchAllById(Collection<String> ids) throws MyBadRequestException {
+        if (ids.size() > batchMaxIds) {
+            throw new MyBadRequestException("At most " + batchMaxIds + " ids can be fetched at once", "ids");
+        }
+        // Malformed ids cannot match an ObjectId, they are dropped before the query
+        List<String> valid = ids.stream().filter(ObjectId::isValid).distinct().toList();
+        if (valid.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, CustomerDTO> customers = new LinkedHashMap<>();
+        for (Customer customer : repository.findAllProjected(valid)) {
+            customers.put(customer.getId(), mapper.toDTO(customer));
+        }
+        return customers;
+    }
+
+    // Keyset page of customer summaries after the given id, no count is run
+    public Slice<CustomerSummary> fetchSummaries(String after, int size, String keyword) throws MyBadRequestException {
+        ObjectId afterId = null;
+        if (after != null) {
+            if (!ObjectId.isValid(after)) {
+                throw new MyBadRequestException("Invalid cursor", "after");
+            }
+            afterId = new ObjectId(after);
+        }
+        // Read one extra summary to know whether another page follows
+        List<CustomerSummary> summaries = repository.findSummaries(afterId, keyword, size + 1);
+        boolean hasNext = summaries.size() > size;
+        return new SliceImpl<>(hasNext ? summaries.subList(0, size) : summaries, Pageable.ofSize(size), hasNext);
+    }
+
+    // Approximate total for the list views: collection metadata, or a count capped for searches
+    public CustomerTotal estimateTotal(String keyword) {
+        if (keyword == null) {
+            return new CustomerTotal(repository.estimateCount(), false);
+        }
+        long count = repository.countSearch(keyword, countCap);
+        return new CustomerTotal(count, count >= countCap);
+    }
+
 }
@@ -0,0 +1,18 @@
+package org.micromall.customer.customer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Projection of a customer for list views, read without the phone and address
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CustomerSummary {
+    private String id;
+    private String lastName;
+    private String firstName;
+    private String email;
+}
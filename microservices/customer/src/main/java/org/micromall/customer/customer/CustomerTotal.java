@@ -0,0 +1,6 @@
+package org.micromall.customer.customer;
+
+// Estimated number of customers, atLeast is set when counting stopped at the cap
+public record CustomerTotal(long count, boolean atLeast) {
+
+}
@@ -0,0 +1,34 @@
+package org.micromall.customer.exception;
+
+import java.util.List;
+
+import org.micromall.customer.handler.MyError;
+import org.micromall.customer.handler.MyErrorResponse;
+
+public class MyBadRequestException extends RuntimeException {
+    @SuppressWarnings("unused")
+    private MyErrorResponse response;
+
+    // Contructor to thorw exception with message
+    public MyBadRequestException(String message) {
+        super(message);
+        this.response = MyErrorResponse.builder().message(message).build();
+    }
+
+    // Contructor to thorw exception with error fields
+    public MyBadRequestException(String  message, String field) {
+        List<MyError> errors = List.of(MyError.builder().field(field).message(message).build());
+        this.response = MyErrorResponse.builder().errors(errors).build();
+    }
+
+    // Getters and Setters
+
+    public MyErrorResponse getResponse() {
+        return response;
+    }
+
+    public void setResponse(MyErrorResponse response) {
+        this.response = response;
+    }
+    
+}
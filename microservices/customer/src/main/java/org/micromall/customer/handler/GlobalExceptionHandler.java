@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.http.ResponseEntity;
+import org.micromall.customer.exception.MyBadRequestException;
 import org.micromall.customer.exception.MyNotDeleteException;
 import org.micromall.customer.exception.MyNotFoundException;
 import org.micromall.customer.exception.MyNotSaveException;
@@ -59,4 +60,11 @@ public class GlobalExceptionHandler {
     public ResponseEntity<MyErrorResponse> handleMyNotDeleteException(MyNotDeleteException ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getResponse());
     }
+
+    // Handle MyBadRequestException
+    @ExceptionHandler(MyBadRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<MyErrorResponse> handleMyBadRequestException(MyBadRequestException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getResponse());
+    }
 }
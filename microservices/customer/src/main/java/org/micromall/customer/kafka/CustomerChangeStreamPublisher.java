@@ -0,0 +1,276 @@
+package org.micromall.customer.kafka;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.micromall.customer.customer.Customer;
+import org.micromall.customer.customer.CustomerMapper;
+import org.micromall.customer.customer.CustomerSearchKeys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tails the {@code customers} change stream and publishes a
+ * {@link CustomerChangedEvent} per changed customer to Kafka, so downstream
+ * near-caches are updated without calling customer-service.
+ * <ul>
+ * <li>Changes are read in batches: after the first change, whatever else
+ * arrives within {@code linger} (up to {@code batch-size}) is taken too, and
+ * repeated changes of one customer collapse into its latest state.</li>
+ * <li>The resume token of a batch is stored in {@code customer_stream_offsets}
+ * once Kafka acknowledged all its events, so a restart continues where the
+ * last one stopped (at-least-once delivery). While the stream is idle or only
+ * carries filtered out changes the post-batch token is stored every
+ * {@code idle-token-interval}, so it does not fall off the oplog.</li>
+ * <li>If the stored token fell off the oplog the stream restarts from now;
+ * consumers still expire their entries by TTL.</li>
+ * </ul>
+ * Change streams need a replica set. Only one instance should publish, turn
+ * the others off with {@code customer.change-stream.enabled}; duplicates are
+ * harmless but wasteful.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerChangeStreamPublisher implements SmartLifecycle {
+
+    private static final String STREAM = "customer-changed";
+    private static final String OFFSETS = "customer_stream_offsets";
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    // Paths set or removed by an update outside the search keys, updated paths may be dotted like "address.city"
+    private static final Document CUSTOMER_PATHS = new Document("$filter", new Document()
+            .append("input", new Document("$concatArrays", List.of(
+                    new Document("$map", new Document()
+                            .append("input", new Document("$objectToArray",
+                                    new Document("$ifNull", List.of("$updateDescription.updatedFields", new Document()))))
+                            .append("in", "$$this.k")),
+                    new Document("$ifNull", List.of("$updateDescription.removedFields", List.of())))))
+            .append("cond", new Document("$and", List.of(
+                    new Document("$ne", List.of("$$this", CustomerSearchKeys.FIELD)),
+                    new Document("$ne", List.of(
+                            new Document("$substrCP", List.of("$$this", 0, CustomerSearchKeys.FIELD.length() + 1)),
+                            CustomerSearchKeys.FIELD + "."))))));
+
+    // Customer writes only: updates touching nothing but the search keys, like their backfill, are left out
+    static final List<Bson> PIPELINE = List.of(
+            Aggregates.match(Filters.or(
+                    Filters.in("operationType", List.of("insert", "replace", "delete")),
+                    Filters.and(
+                            Filters.eq("operationType", "update"),
+                            Filters.expr(new Document("$gt", List.of(new Document("$size", CUSTOMER_PATHS), 0)))))),
+            Aggregates.project(Projections.exclude("fullDocument." + CustomerSearchKeys.FIELD, "updateDescription")));
+
+    private final MongoTemplate mongoTemplate;
+    private final KafkaTemplate<String, CustomerChangedEvent> kafkaTemplate;
+    private final CustomerMapper mapper;
+
+    @Value("${kafka.customer.topic}")
+    private String topic;
+
+    @Value("${customer.change-stream.enabled:true}")
+    private boolean enabled;
+
+    @Value("${customer.change-stream.batch-size:500}")
+    private int batchSize;
+
+    @Value("${customer.change-stream.linger:50ms}")
+    private Duration linger;
+
+    @Value("${customer.change-stream.send-timeout:10s}")
+    private Duration sendTimeout;
+
+    @Value("${customer.change-stream.retry-delay:5s}")
+    private Duration retryDelay;
+
+    @Value("${customer.change-stream.idle-token-interval:10s}")
+    private Duration idleTokenInterval;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    // Last stored token and when it was stored, only used by the worker thread
+    private BsonDocument savedToken;
+    private long savedTokenAt;
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofVirtual().name("customer-change-stream").start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                publish();
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    log.warn("Customer change stream token is no longer in the oplog, restarting from now");
+                    mongoTemplate.getCollection(OFFSETS).deleteOne(Filters.eq("_id", STREAM));
+                } else {
+                    retryLater(e);
+                }
+            } catch (RuntimeException e) {
+                retryLater(e);
+            }
+        }
+    }
+
+    private void publish() {
+        MongoCollection<Document> customers = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Customer.class));
+        var stream = customers.watch(PIPELINE)
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(linger.toMillis(), TimeUnit.MILLISECONDS);
+        BsonDocument token = loadToken();
+        if (token != null) {
+            stream = stream.resumeAfter(token);
+        }
+
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+            while (running) {
+                publishBatch(cursor);
+            }
+        }
+    }
+
+    // Read, send and acknowledge one batch of changes
+    void publishBatch(MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor) {
+        // Wait at most the linger time for a first change
+        ChangeStreamDocument<Document> change = cursor.tryNext();
+        if (change == null) {
+            if (System.currentTimeMillis() - savedTokenAt >= idleTokenInterval.toMillis()) {
+                saveToken(cursor.getResumeToken());
+            }
+            return;
+        }
+        long deadline = System.nanoTime() + linger.toNanos();
+        Map<String, CustomerChangedEvent> batch = new LinkedHashMap<>();
+        BsonDocument last = null;
+        while (change != null) {
+            CustomerChangedEvent event = toEvent(change);
+            if (event != null) {
+                // A later change of the same customer replaces the earlier one
+                batch.put(event.customerId(), event);
+            }
+            last = change.getResumeToken();
+            if (batch.size() >= batchSize || System.nanoTime() >= deadline) {
+                break;
+            }
+            change = cursor.tryNext();
+        }
+        send(batch.values());
+        saveToken(last);
+    }
+
+    CustomerChangedEvent toEvent(ChangeStreamDocument<Document> change) {
+        if (change.getDocumentKey() == null || !change.getDocumentKey().isObjectId("_id")) {
+            return null;
+        }
+        String customerId = change.getDocumentKey().getObjectId("_id").getValue().toHexString();
+        // An update whose document is already gone is reported as a delete
+        Document document = change.getFullDocument();
+        if (change.getOperationType() == OperationType.DELETE || document == null) {
+            return CustomerChangedEvent.builder().customerId(customerId).deleted(true).build();
+        }
+        Customer customer = mongoTemplate.getConverter().read(Customer.class, document);
+        return CustomerChangedEvent.builder()
+                .customerId(customerId)
+                .deleted(false)
+                .customer(mapper.toDTO(customer))
+                .build();
+    }
+
+    // Send the batch, then wait for the broker acknowledgements before the token moves
+    private void send(Collection<CustomerChangedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        CompletableFuture<?>[] sends = events.stream()
+                // Key by customer so the changes of a customer stay ordered
+                .map(event -> kafkaTemplate.send(topic, event.customerId(), event))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(sends).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Customer changed events not acknowledged by the broker", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Customer change stream interrupted", e);
+        }
+        log.debug("Published {} customer changed events", events.size());
+    }
+
+    private BsonDocument loadToken() {
+        Document offset = mongoTemplate.getCollection(OFFSETS).find(Filters.eq("_id", STREAM)).first();
+        savedToken = offset == null ? null : BsonDocument.parse(offset.getString("token"));
+        return savedToken;
+    }
+
+    private void saveToken(BsonDocument token) {
+        if (token == null || token.equals(savedToken)) {
+            return;
+        }
+        mongoTemplate.getCollection(OFFSETS).replaceOne(Filters.eq("_id", STREAM),
+                new Document("_id", STREAM).append("token", token.toJson()).append("updatedAt", new Date()),
+                new ReplaceOptions().upsert(true));
+        savedToken = token;
+        savedTokenAt = System.currentTimeMillis();
+    }
+
+    private void retryLater(RuntimeException e) {
+        if (!running) {
+            return;
+        }
+        log.error("Customer change stream failed, resuming in {}", retryDelay, e);
+        try {
+            Thread.sleep(retryDelay);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
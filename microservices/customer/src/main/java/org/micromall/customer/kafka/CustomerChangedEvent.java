@@ -0,0 +1,18 @@
+package org.micromall.customer.kafka;
+
+import org.micromall.customer.customer.CustomerDTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Builder;
+
+// Published when a customer is created, updated or deleted, the customer is left out on deletes
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CustomerChangedEvent(
+    String customerId,
+    Boolean deleted,
+    CustomerDTO customer
+) {
+
+}
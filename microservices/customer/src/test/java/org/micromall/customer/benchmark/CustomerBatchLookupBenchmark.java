@@ -0,0 +1,105 @@
+package org.micromall.customer.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * End-to-end latency of fetching N customers from customer-service with one
+ * {@code GET /api/v1/customer/{id}} per id versus one
+ * {@code POST /api/v1/customers/batch}. Needs a running customer-service
+ * holding at least 1,000 customers, set with {@code -Dbenchmark.customer.url};
+ * the ids are read from the list endpoint at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerBatchLookupBenchmark {
+
+    @Param({ "1", "100", "1000" })
+    private int ids;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpClient client;
+    private String baseUrl;
+    private List<String> customerIds;
+    private byte[] batchBody;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        client = HttpClient.newHttpClient();
+        baseUrl = System.getProperty("benchmark.customer.url", "http://localhost:8082");
+
+        // Collect the ids page by page from the keyset list endpoint
+        customerIds = new ArrayList<>(ids);
+        String after = null;
+        while (customerIds.size() < ids) {
+            String url = baseUrl + "/api/v1/customers/list?size=100" + (after == null ? "" : "&after=" + after);
+            JsonNode page = objectMapper.readTree(client.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray()).body());
+            for (JsonNode customer : page.path("data")) {
+                if (customerIds.size() < ids) {
+                    customerIds.add(customer.path("id").asText());
+                }
+            }
+            if (!page.path("meta").path("hasNext").asBoolean()) {
+                break;
+            }
+            after = page.path("meta").path("next").asText();
+        }
+        if (customerIds.size() < ids) {
+            throw new IllegalStateException("customer-service holds fewer than " + ids + " customers");
+        }
+        batchBody = objectMapper.writeValueAsBytes(customerIds);
+    }
+
+    @Benchmark
+    public void perIdLoop(Blackhole blackhole) throws IOException, InterruptedException {
+        for (String id : customerIds) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/customer/" + id)).build();
+            blackhole.consume(client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body());
+        }
+    }
+
+    @Benchmark
+    public byte[] batch() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/customers/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(batchBody))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomerBatchLookupBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,118 @@
+package org.micromall.customer.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.micromall.customer.customer.Address;
+import org.micromall.customer.customer.Customer;
+import org.micromall.customer.customer.CustomerRepositoryCustomImpl;
+import org.micromall.customer.customer.CustomerSearchKeys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+/**
+ * Import throughput in customers per second: {@code saveEach} writes one
+ * document per round trip as the create endpoint does, {@code bulkUpsert}
+ * upserts a chunk of 1000 by email with one unordered bulk write as the
+ * import does, and {@code bulkUpsertParallel} runs four such writers like the
+ * import lanes. Every customer is new, so each write is an insert through the
+ * email index. Needs a running MongoDB; see {@link CustomerSearchBenchmark}
+ * for the connection property.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerImportBenchmark {
+
+    private static final String DATABASE = "customer_import_benchmark";
+    private static final int CHUNK = 1000;
+
+    private final AtomicLong nextCustomer = new AtomicLong();
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private CustomerRepositoryCustomImpl repository;
+
+    @Setup
+    public void setUp() {
+        client = MongoClients.create(System.getProperty("benchmark.mongo.uri", "mongodb://localhost:27017"));
+        client.getDatabase(DATABASE).drop();
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+        repository = new CustomerRepositoryCustomImpl(mongoTemplate);
+        mongoTemplate.indexOps(Customer.class).ensureIndex(new Index().on(CustomerSearchKeys.EMAIL, Sort.Direction.ASC));
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.getDatabase(DATABASE).drop();
+        client.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public void saveEach() {
+        for (Customer customer : chunk()) {
+            mongoTemplate.save(customer);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public void bulkUpsert() {
+        repository.upsertAllByEmail(chunk());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    @Threads(4)
+    public void bulkUpsertParallel() {
+        repository.upsertAllByEmail(chunk());
+    }
+
+    private List<Customer> chunk() {
+        long first = nextCustomer.getAndAdd(CHUNK);
+        List<Customer> customers = new ArrayList<>(CHUNK);
+        for (long i = first; i < first + CHUNK; i++) {
+            customers.add(Customer.builder()
+                    .firstName("Maria")
+                    .lastName("Martin" + (i % 1000))
+                    .email("customer." + i + "@example.com")
+                    .phone(String.format("+1 555 %07d", i))
+                    .address(new Address(i + " Main Street", "Springfield", "CA",
+                            String.format("%05d", i % 100_000), "USA"))
+                    .build());
+        }
+        return customers;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomerImportBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
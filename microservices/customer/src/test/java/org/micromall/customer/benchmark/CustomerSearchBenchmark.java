@@ -0,0 +1,156 @@
+package org.micromall.customer.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.bson.Document;
+import org.micromall.customer.customer.Address;
+import org.micromall.customer.customer.Customer;
+import org.micromall.customer.customer.CustomerRepositoryCustomImpl;
+import org.micromall.customer.customer.CustomerSearchKeys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Indexes;
+
+/**
+ * Compares the former nine-field case-insensitive {@code $regex $or} customer
+ * search with the indexed prefix search of {@link CustomerRepositoryCustomImpl}.
+ * Each variant reads the first page of 5 results and the total count, as the
+ * paged endpoint does. Needs a running MongoDB; the customers are seeded in a
+ * dedicated {@code customer_benchmark} database, set with
+ * {@code -Dbenchmark.mongo.uri}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerSearchBenchmark {
+
+    private static final String DATABASE = "customer_benchmark";
+
+    private static final String[] REGEX_FIELDS = { "firstName", "lastName", "email", "phone", "address.street",
+            "address.city", "address.state", "address.zip", "address.country" };
+
+    private static final Pageable PAGE = PageRequest.of(0, 5, Sort.Direction.DESC, "id");
+
+    @Param({ "1000000" })
+    private int customers;
+
+    @Param({ "marti", "customer.4242@", "+1 555 0142" })
+    private String keyword;
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private CustomerRepositoryCustomImpl repository;
+
+    @Setup
+    public void setUp() {
+        client = MongoClients.create(System.getProperty("benchmark.mongo.uri", "mongodb://localhost:27017"));
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+        repository = new CustomerRepositoryCustomImpl(mongoTemplate);
+
+        MongoCollection<Document> collection = client.getDatabase(DATABASE).getCollection("customers");
+        if (collection.countDocuments() != customers) {
+            collection.drop();
+            seed(collection);
+            collection.createIndex(Indexes.ascending(CustomerSearchKeys.TOKENS));
+            collection.createIndex(Indexes.ascending(CustomerSearchKeys.EMAIL));
+            collection.createIndex(Indexes.ascending(CustomerSearchKeys.PHONE));
+            collection.createIndex(Indexes.ascending(CustomerSearchKeys.ZIP));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public Page<Customer> regexScan() {
+        // The keyword is quoted here, the former query passed it in as a raw pattern
+        String pattern = Pattern.quote(keyword);
+        Query query = new Query(new Criteria().orOperator(Arrays.stream(REGEX_FIELDS)
+                .map(field -> Criteria.where(field).regex(pattern, "i"))
+                .toArray(Criteria[]::new))).with(PAGE);
+        List<Customer> content = mongoTemplate.find(query, Customer.class);
+        long total = mongoTemplate.count(Query.of(query).limit(-1).skip(-1), Customer.class);
+        return new PageImpl<>(content, PAGE, total);
+    }
+
+    @Benchmark
+    public Page<Customer> indexedPrefix() {
+        return repository.search(keyword, PAGE);
+    }
+
+    private void seed(MongoCollection<Document> collection) {
+        String[] firstNames = { "James", "Maria", "Robert", "Linda", "Michael", "Sarah", "David", "Elena" };
+        String[] lastNames = { "Smith", "Martin", "Garcia", "Brown", "Martinez", "Lee", "Walker", "Young" };
+        String[] cities = { "Springfield", "Riverside", "Franklin", "Greenville", "Bristol", "Clinton" };
+        List<Document> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < customers; i++) {
+            Customer customer = Customer.builder()
+                    .firstName(firstNames[i % firstNames.length])
+                    .lastName(lastNames[(i / 8) % lastNames.length] + (i % 1000))
+                    .email("customer." + i + "@example.com")
+                    .phone(String.format("+1 555 %07d", i))
+                    .address(new Address(i + " Main Street", cities[i % cities.length], "CA",
+                            String.format("%05d", i % 100_000), "USA"))
+                    .build();
+            batch.add(new Document()
+                    .append("firstName", customer.getFirstName())
+                    .append("lastName", customer.getLastName())
+                    .append("email", customer.getEmail())
+                    .append("phone", customer.getPhone())
+                    .append("address", new Document()
+                            .append("street", customer.getAddress().getStreet())
+                            .append("city", customer.getAddress().getCity())
+                            .append("state", customer.getAddress().getState())
+                            .append("zip", customer.getAddress().getZip())
+                            .append("country", customer.getAddress().getCountry()))
+                    .append(CustomerSearchKeys.FIELD, CustomerSearchKeys.of(customer)));
+            if (batch.size() == 10_000) {
+                collection.insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            collection.insertMany(batch);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomerSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
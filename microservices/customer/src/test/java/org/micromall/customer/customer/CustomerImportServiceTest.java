@@ -0,0 +1,105 @@
+package org.micromall.customer.customer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerImportServiceTest {
+
+    @Mock
+    private CustomerRepository repository;
+
+    private CustomerImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new CustomerImportService(repository, Mappers.getMapper(CustomerMapper.class),
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper());
+        ReflectionTestUtils.setField(importService, "batchSize", 10);
+        ReflectionTestUtils.setField(importService, "concurrency", 2);
+    }
+
+    @Test
+    void importCsvUpsertsValidRowsAndReportsInvalidOnes() throws Exception {
+        when(repository.upsertAllByEmail(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+        String csv = """
+                lastName,firstName,email,phone,city,zip
+                Doe,John,john.doe@example.com,+1 555 0100,Springfield,12345
+                Roe,Jane,not-an-email,+1 555 0101,Springfield,12345
+                Poe,Ann,ann.poe@example.com,+1 555 0102,,
+                Doe,Johnny,JOHN.DOE@example.com,+1 555 0103,Riverside,54321
+                Lee,Sam,sam.lee@example.com,+1 555 0104,,
+                """;
+
+        CustomerImportResult result = importService.importCsv(input(csv));
+
+        assertThat(result.getReceived()).isEqualTo(5);
+        assertThat(result.getCreated()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors())
+                .extracting(CustomerImportError::getLine, CustomerImportError::getError)
+                .containsExactlyInAnyOrder(
+                        tuple(3L, "email: Email should be valid"),
+                        tuple(2L, "Duplicate email, superseded by line 5"));
+    }
+
+    @Test
+    void importNdjsonReportsTheRowsRejectedByMongo() throws Exception {
+        ReflectionTestUtils.setField(importService, "concurrency", 1);
+        BulkWriteResult partial = BulkWriteResult.acknowledged(0, 0, 0, 0,
+                List.of(new BulkWriteUpsert(0, new BsonObjectId())), List.of());
+        BulkWriteError duplicate = new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1);
+        when(repository.upsertAllByEmail(anyList())).thenThrow(new BulkOperationException("Bulk write failed",
+                new MongoBulkWriteException(partial, List.of(duplicate), null, new ServerAddress(), Set.of())));
+        String ndjson = """
+                {"lastName":"Doe","firstName":"John","email":"john.doe@example.com","phone":"+1 555 0100"}
+                {"lastName":"Poe","firstName":"Ann","email":"ann.poe@example.com","phone":"+1 555 0102"}
+                {"lastName":
+                """;
+
+        CustomerImportResult result = importService.importNdjson(input(ndjson));
+
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(CustomerImportError::getLine).containsExactlyInAnyOrder(2L, 3L);
+        verify(repository, times(1)).upsertAllByEmail(anyList());
+    }
+
+    private static BulkWriteResult created(List<Customer> customers) {
+        return BulkWriteResult.acknowledged(0, 0, 0, 0, IntStream.range(0, customers.size())
+                .mapToObj(index -> new BulkWriteUpsert(index, new BsonObjectId()))
+                .toList(), List.of());
+    }
+
+    private static ByteArrayInputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
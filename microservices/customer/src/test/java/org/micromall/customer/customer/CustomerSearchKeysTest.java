@@ -0,0 +1,44 @@
+package org.micromall.customer.customer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+class CustomerSearchKeysTest {
+
+    private final Customer customer = new Customer("1", "Dupré", "Élodie", "Elodie.Dupre@Example.com",
+            "+33 (6) 12-34-56-78", new Address("12 Rue de la Paix", "Paris", "IDF", "75002", "France"));
+
+    @Test
+    void keysAreLowercasedAndAccentFree() {
+        Document keys = CustomerSearchKeys.of(customer);
+
+        assertThat(keys.getList("tokens", String.class))
+                .contains("elodie", "dupre", "example", "33612345678", "rue", "paix", "75002", "france");
+        assertThat(keys.getString("email")).isEqualTo("elodie.dupre@example.com");
+        assertThat(keys.getString("phone")).isEqualTo("33612345678");
+        assertThat(keys.getString("zip")).isEqualTo("75002");
+    }
+
+    @Test
+    void prefixRegexEscapesUserInput() {
+        assertThat(CustomerSearchKeys.prefixRegex("a.b*(c")).isEqualTo("^a\\.b\\*\\(c");
+        assertThat(CustomerSearchKeys.terms("  (.*)+ ÉLO  dup ")).isEqualTo(List.of("elo", "dup"));
+    }
+
+    @Test
+    void keywordsAreRoutedToTheMatchingField() {
+        assertThat(CustomerRepositoryCustomImpl.criteria("Elodie.Dupre@").getCriteriaObject().keySet())
+                .containsExactly(CustomerSearchKeys.EMAIL);
+        assertThat(CustomerRepositoryCustomImpl.criteria("75002").getCriteriaObject().keySet())
+                .containsExactly(CustomerSearchKeys.ZIP);
+        assertThat(CustomerRepositoryCustomImpl.criteria("+33 6 12 34").getCriteriaObject().keySet())
+                .containsExactly(CustomerSearchKeys.PHONE);
+        assertThat(CustomerRepositoryCustomImpl.criteria("elodie").getCriteriaObject().keySet())
+                .containsExactly(CustomerSearchKeys.TOKENS);
+        assertThat(CustomerRepositoryCustomImpl.criteria(".*")).isNull();
+    }
+}
@@ -7,15 +7,18 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.micromall.customer.exception.MyBadRequestException;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 @ExtendWith(MockitoExtension.class)
 class CustomerServiceTest {
@@ -142,4 +145,21 @@ class CustomerServiceTest {
         assertThat(result.getContent().get(0)).isEqualTo(customerDTO);
         verify(repository).search("keyword", pageable);
     }
+
+    @Test
+    void fetchSummariesTest() {
+        ObjectId after = new ObjectId();
+        List<CustomerSummary> summaries = List.of(
+                new CustomerSummary("3", "Doe", "John", "john.doe@example.com"),
+                new CustomerSummary("2", "Roe", "Jane", "jane.roe@example.com"),
+                new CustomerSummary("1", "Poe", "Edgar", "edgar.poe@example.com"));
+        when(repository.findSummaries(after, null, 3)).thenReturn(summaries);
+
+        Slice<CustomerSummary> result = customerService.fetchSummaries(after.toHexString(), 2, null);
+
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.hasNext()).isTrue();
+        assertThatThrownBy(() -> customerService.fetchSummaries("not-an-id", 2, null))
+                .isInstanceOf(MyBadRequestException.class);
+    }
 }
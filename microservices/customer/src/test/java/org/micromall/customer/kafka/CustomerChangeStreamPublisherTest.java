@@ -0,0 +1,186 @@
+package org.micromall.customer.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.micromall.customer.customer.CustomerMapper;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerChangeStreamPublisherTest {
+
+    private static final String ANN = new ObjectId().toHexString();
+    private static final String BOB = new ObjectId().toHexString();
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private KafkaTemplate<String, CustomerChangedEvent> kafkaTemplate;
+
+    @Mock
+    private MongoCollection<Document> offsets;
+
+    @Mock
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+
+    private CustomerChangeStreamPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new CustomerChangeStreamPublisher(mongoTemplate, kafkaTemplate,
+                Mappers.getMapper(CustomerMapper.class));
+        ReflectionTestUtils.setField(publisher, "topic", "customer-changed");
+        ReflectionTestUtils.setField(publisher, "batchSize", 500);
+        ReflectionTestUtils.setField(publisher, "linger", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(publisher, "sendTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(publisher, "idleTokenInterval", Duration.ofSeconds(10));
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE,
+                new MongoMappingContext());
+        converter.afterPropertiesSet();
+        lenient().when(mongoTemplate.getConverter()).thenReturn(converter);
+        lenient().when(mongoTemplate.getCollection("customer_stream_offsets")).thenReturn(offsets);
+    }
+
+    @Test
+    void updatesAreFilteredOnEveryChangedPathNotOnTopLevelFields() {
+        BsonDocument match = CustomerChangeStreamPublisher.PIPELINE.get(0)
+                .toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry())
+                .getDocument("$match");
+        BsonDocument update = match.getArray("$or").get(1).asDocument();
+        BsonDocument paths = update.getArray("$and").get(1).asDocument()
+                .getDocument("$expr").getArray("$gt").get(0).asDocument()
+                .getDocument("$size").getDocument("$filter");
+
+        // A partial address change is reported as "address.city", it must be kept through the updated paths
+        BsonArray input = paths.getDocument("input").getArray("$concatArrays");
+        assertThat(input.get(0).asDocument().getDocument("$map").getDocument("input").toJson())
+                .contains("$objectToArray", "$updateDescription.updatedFields");
+        assertThat(input.get(1).asDocument().toJson()).contains("$updateDescription.removedFields");
+
+        // Only "search" and "search.*" are left out
+        List<String> excluded = paths.getDocument("cond").getArray("$and").stream()
+                .map(condition -> condition.asDocument().getArray("$ne").get(1))
+                .map(value -> value.asString().getValue())
+                .toList();
+        assertThat(excluded).containsExactly("search", "search.");
+        assertThat(match.toJson()).doesNotContain("updatedFields.address", "$exists")
+                .contains(new BsonString("update").toJson());
+    }
+
+    @Test
+    void partialAddressUpdateIsPublishedWithTheWholeCustomer() {
+        CustomerChangedEvent event = publisher.toEvent(change(OperationType.UPDATE, ANN,
+                customer(ANN, "Ann").append("address", new Document("street", "1 rue Neuve").append("city", "Lyon")),
+                "1"));
+
+        assertThat(event.customerId()).isEqualTo(ANN);
+        assertThat(event.deleted()).isFalse();
+        assertThat(event.customer().getFirstName()).isEqualTo("Ann");
+        assertThat(event.customer().getAddress().getCity()).isEqualTo("Lyon");
+    }
+
+    @Test
+    void deletesAndVanishedDocumentsArePublishedAsDeletes() {
+        CustomerChangedEvent deleted = publisher.toEvent(change(OperationType.DELETE, ANN, null, "1"));
+        CustomerChangedEvent vanished = publisher.toEvent(change(OperationType.UPDATE, BOB, null, "2"));
+
+        assertThat(deleted.deleted()).isTrue();
+        assertThat(deleted.customer()).isNull();
+        assertThat(vanished.customerId()).isEqualTo(BOB);
+        assertThat(vanished.deleted()).isTrue();
+    }
+
+    @Test
+    void batchKeepsTheLatestChangeOfEachCustomerAndStoresItsLastToken() {
+        ChangeStreamDocument<Document> first = change(OperationType.UPDATE, ANN, customer(ANN, "Ann"), "1");
+        ChangeStreamDocument<Document> other = change(OperationType.INSERT, BOB, customer(BOB, "Bob"), "2");
+        ChangeStreamDocument<Document> latest = change(OperationType.UPDATE, ANN, customer(ANN, "Anna"), "3");
+        when(cursor.tryNext()).thenReturn(first, other, latest, null);
+        when(kafkaTemplate.send(eq("customer-changed"), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        publisher.publishBatch(cursor);
+
+        ArgumentCaptor<CustomerChangedEvent> sent = ArgumentCaptor.forClass(CustomerChangedEvent.class);
+        verify(kafkaTemplate, times(2)).send(eq("customer-changed"), any(), sent.capture());
+        assertThat(sent.getAllValues())
+                .extracting(event -> event.customer().getFirstName())
+                .containsExactly("Anna", "Bob");
+        assertThat(storedTokens()).containsExactly(token("3").toJson());
+    }
+
+    @Test
+    void idleStreamStoresThePostBatchToken() {
+        when(cursor.tryNext()).thenReturn(null);
+        when(cursor.getResumeToken()).thenReturn(token("7"));
+
+        publisher.publishBatch(cursor);
+        publisher.publishBatch(cursor);
+
+        // Stored once, then not again within the idle interval
+        assertThat(storedTokens()).containsExactly(token("7").toJson());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    private List<String> storedTokens() {
+        ArgumentCaptor<Document> stored = ArgumentCaptor.forClass(Document.class);
+        verify(offsets, atLeast(0)).replaceOne(any(Bson.class), stored.capture(), any(ReplaceOptions.class));
+        return stored.getAllValues().stream().map(offset -> offset.getString("token")).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChangeStreamDocument<Document> change(OperationType type, String customerId, Document document,
+            String token) {
+        ChangeStreamDocument<Document> change = mock(ChangeStreamDocument.class,
+                withSettings().strictness(Strictness.LENIENT));
+        when(change.getOperationType()).thenReturn(type);
+        when(change.getDocumentKey()).thenReturn(new BsonDocument("_id", new BsonObjectId(new ObjectId(customerId))));
+        when(change.getFullDocument()).thenReturn(document);
+        when(change.getResumeToken()).thenReturn(token(token));
+        return change;
+    }
+
+    private static Document customer(String id, String firstName) {
+        return new Document("_id", new ObjectId(id))
+                .append("lastName", "Martin")
+                .append("firstName", firstName)
+                .append("email", firstName.toLowerCase() + "@example.com");
+    }
+
+    private static BsonDocument token(String value) {
+        return new BsonDocument("_data", new BsonString(value));
+    }
+}
@@ -0,0 +1,32 @@
+package org.micromall.order.config;
+
+import java.util.Map;
+
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.micromall.order.modules.customer.CustomerChangedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+@Configuration
+public class KafkaCustomerConsumerConfig {
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, CustomerChangedEvent> customerEventListenerFactory(
+            KafkaProperties kafkaProperties,
+            ObjectProvider<SslBundles> sslBundles) {
+        Map<String, Object> properties = kafkaProperties.buildConsumerProperties(sslBundles.getIfAvailable());
+        ConcurrentKafkaListenerContainerFactory<String, CustomerChangedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(properties,
+                new StringDeserializer(), new JsonDeserializer<>(CustomerChangedEvent.class, false)));
+        // Bursts of changes are applied a poll at a time
+        factory.setBatchListener(true);
+        return factory;
+    }
+
+}
@@ -0,0 +1,67 @@
+package org.micromall.order.config;
+
+import java.util.Map;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.micromall.order.kafka.OrderConfirmation;
+import org.micromall.order.kafka.serialization.OrderConfirmationBinarySerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+@Configuration
+public class KafkaOrderProducerConfig {
+
+    // binary: compact versioned schema (OrderConfirmationCodec), json: Jackson
+    @Value("${kafka.order.serialization:binary}")
+    private String serialization;
+
+    // Producer profile for the order topic: idempotent, compressed, batched
+    @Value("${kafka.order.producer.compression:lz4}")
+    private String compression;
+
+    @Value("${kafka.order.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${kafka.order.producer.linger-ms:10}")
+    private int lingerMs;
+
+    @Bean
+    public ProducerFactory<String, OrderConfirmation> orderProducerFactory(
+            KafkaProperties kafkaProperties,
+            ObjectProvider<SslBundles> sslBundles) {
+        Map<String, Object> properties = kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable());
+        // Idempotence keeps per-partition ordering and drops duplicates on retries
+        properties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        properties.put(ProducerConfig.ACKS_CONFIG, "all");
+        properties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compression);
+        properties.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        properties.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        return new DefaultKafkaProducerFactory<>(properties, new StringSerializer(), orderConfirmationSerializer());
+    }
+
+    @Bean
+    public KafkaTemplate<String, OrderConfirmation> orderKafkaTemplate(
+            ProducerFactory<String, OrderConfirmation> orderProducerFactory) {
+        return new KafkaTemplate<>(orderProducerFactory);
+    }
+
+    private Serializer<OrderConfirmation> orderConfirmationSerializer() {
+        if ("json".equalsIgnoreCase(serialization)) {
+            JsonSerializer<OrderConfirmation> serializer = new JsonSerializer<>();
+            serializer.setAddTypeInfo(false);
+            return serializer;
+        }
+        return new OrderConfirmationBinarySerializer();
+    }
+
+}
@@ -12,10 +12,18 @@ public class KafkaOrderTopicConfig {
     @Value("${kafka.topic.name}")
     private String topic;
 
+    @Value("${kafka.topic.partitions:6}")
+    private int partitions;
+
+    @Value("${kafka.topic.replicas:1}")
+    private int replicas;
+
     @Bean
     public NewTopic orderTopic() {
         return TopicBuilder
                 .name(topic)
+                .partitions(partitions)
+                .replicas(replicas)
                 .build();
     }
 
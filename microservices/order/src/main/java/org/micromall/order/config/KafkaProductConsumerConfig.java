@@ -0,0 +1,30 @@
+package org.micromall.order.config;
+
+import java.util.Map;
+
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.micromall.order.modules.product.ProductChangedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+@Configuration
+public class KafkaProductConsumerConfig {
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ProductChangedEvent> productEventListenerFactory(
+            KafkaProperties kafkaProperties,
+            ObjectProvider<SslBundles> sslBundles) {
+        Map<String, Object> properties = kafkaProperties.buildConsumerProperties(sslBundles.getIfAvailable());
+        ConcurrentKafkaListenerContainerFactory<String, ProductChangedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(properties,
+                new StringDeserializer(), new JsonDeserializer<>(ProductChangedEvent.class, false)));
+        return factory;
+    }
+
+}
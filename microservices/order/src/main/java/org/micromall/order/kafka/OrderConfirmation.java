@@ -1,9 +1,11 @@
 package org.micromall.order.kafka;
 
+import org.micromall.order.utils.MyMoney;
+import org.micromall.order.utils.MyMoneyRoundingDeserializer;
+
 import java.util.List;
 
-import org.micromall.order.modules.customer.CustomerDTO;
-import org.micromall.order.modules.product.ProductDTO;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import lombok.Builder;
 
@@ -11,9 +13,11 @@ import lombok.Builder;
 public record OrderConfirmation(
     Long orderId,
     String status,
-    Double amount,
-    CustomerDTO customer,
-    List<ProductDTO> products
+    // Outbox rows written before MyMoney hold floating point totals such as 59.970000000000006
+    @JsonDeserialize(using = MyMoneyRoundingDeserializer.class)
+    MyMoney amount,
+    String customerId,
+    List<OrderConfirmationItem> items
 ) {
     
 }
@@ -0,0 +1,19 @@
+package org.micromall.order.kafka;
+
+import org.micromall.order.utils.MyMoney;
+import org.micromall.order.utils.MyMoneyRoundingDeserializer;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import lombok.Builder;
+
+@Builder
+public record OrderConfirmationItem(
+    Long productId,
+    Integer quantity,
+    // Outbox rows written before MyMoney hold floating point totals such as 59.970000000000006
+    @JsonDeserialize(using = MyMoneyRoundingDeserializer.class)
+    MyMoney price
+) {
+
+}
@@ -1,8 +1,11 @@
 package org.micromall.order.kafka;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
@@ -20,15 +23,18 @@ public class OrderProducer {
 
     private final KafkaTemplate<String, OrderConfirmation> kafkaTemplate;
 
-    public void sendOrderConfirmation(OrderConfirmation orderConfirmation) {
+    public CompletableFuture<SendResult<String, OrderConfirmation>> sendOrderConfirmation(
+            OrderConfirmation orderConfirmation) {
         log.info("Sending order confirmation {}", orderConfirmation);
         // Build message
         Message<OrderConfirmation> message = MessageBuilder
                 .withPayload(orderConfirmation)
                 .setHeader(KafkaHeaders.TOPIC, topic)
+                // Key by customer so the events of a customer keep their order on one partition
+                .setHeader(KafkaHeaders.KEY, orderConfirmation.customerId())
                 .build();
         // Send message
-        kafkaTemplate.send(message);
+        return kafkaTemplate.send(message);
     }
 
 }
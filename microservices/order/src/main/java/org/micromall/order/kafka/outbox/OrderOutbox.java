@@ -0,0 +1,34 @@
+package org.micromall.order.kafka.outbox;
+
+import java.time.LocalDateTime;
+
+import org.micromall.order.utils.MyEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+// Order confirmation waiting to be relayed to Kafka, written in the order's transaction.
+// Rows whose payload cannot be read are kept aside with failedAt and error set.
+@Entity
+@Table(name = "order_outbox")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode(callSuper = false)
+@SuperBuilder
+public class OrderOutbox extends MyEntity {
+
+    private Long orderId;
+    @Column(columnDefinition = "text", nullable = false)
+    private String payload;
+    private LocalDateTime failedAt;
+    @Column(columnDefinition = "text")
+    private String error;
+
+}
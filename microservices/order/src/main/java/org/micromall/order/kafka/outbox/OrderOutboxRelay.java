@@ -0,0 +1,108 @@
+package org.micromall.order.kafka.outbox;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.micromall.order.kafka.OrderConfirmation;
+import org.micromall.order.kafka.OrderProducer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the order outbox to Kafka in batches. Rows are locked with
+ * {@code SKIP LOCKED} so several instances can relay concurrently, and are
+ * deleted in bulk once every send of the batch is acknowledged. A failed
+ * batch is rolled back and retried on the next run (at-least-once delivery).
+ * A row whose payload cannot be read is marked failed and left in the table
+ * for inspection, so it does not block the rows behind it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderOutboxRelay {
+
+    private final OrderOutboxRepository outboxRepository;
+    private final OrderProducer orderProducer;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${order.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${order.outbox.send-timeout:10s}")
+    private Duration sendTimeout;
+
+    @Scheduled(fixedDelayString = "${order.outbox.linger-ms:50}")
+    public void relay() {
+        try {
+            // Keep draining while full batches come back
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Order outbox relay failed, the batch will be retried", e);
+        }
+    }
+
+    private int relayBatch() {
+        List<OrderOutbox> batch = outboxRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Send the whole batch, then wait for the broker acknowledgements
+        List<OrderOutbox> sent = new ArrayList<>(batch.size());
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OrderOutbox row : batch) {
+            OrderConfirmation orderConfirmation = read(row);
+            if (orderConfirmation != null) {
+                sent.add(row);
+                sends.add(orderProducer.sendOrderConfirmation(orderConfirmation));
+            }
+        }
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Order confirmations not acknowledged by the broker", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Order outbox relay interrupted", e);
+        }
+
+        // Remove the relayed rows with a single statement
+        if (!sent.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(sent.stream().map(OrderOutbox::getId).toList());
+        }
+        log.debug("Relayed {} order confirmations", sent.size());
+        return batch.size();
+    }
+
+    // Null when the payload cannot be read, the row is then marked failed in the batch transaction
+    private OrderConfirmation read(OrderOutbox row) {
+        try {
+            return objectMapper.readValue(row.getPayload(), OrderConfirmation.class);
+        } catch (IOException | RuntimeException e) {
+            log.error("Order outbox row {} of order {} is not readable, marking it failed", row.getId(),
+                    row.getOrderId(), e);
+            row.setFailedAt(LocalDateTime.now());
+            row.setError(e.getMessage());
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,16 @@
+package org.micromall.order.kafka.outbox;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface OrderOutboxRepository extends JpaRepository<OrderOutbox, Long> {
+
+    // Lock the oldest pending rows, skipping the failed ones and the ones held by another relay instance
+    @Query(value = "SELECT * FROM order_outbox WHERE failed_at IS NULL ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OrderOutbox> lockNextBatch(@Param("limit") int limit);
+
+}
@@ -0,0 +1,37 @@
+package org.micromall.order.kafka.outbox;
+
+import org.micromall.order.exception.MyNotSaveException;
+import org.micromall.order.kafka.OrderConfirmation;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderOutboxService {
+
+    private final OrderOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    // Record the confirmation in the caller's transaction, the relay publishes it after commit
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OrderConfirmation orderConfirmation) throws MyNotSaveException {
+        try {
+            outboxRepository.save(OrderOutbox.builder()
+                    .orderId(orderConfirmation.orderId())
+                    .payload(objectMapper.writeValueAsString(orderConfirmation))
+                    .build());
+        } catch (JsonProcessingException e) {
+            log.error("Order confirmation {} not serialized", orderConfirmation.orderId(), e);
+            throw new MyNotSaveException("Order confirmation not saved try again");
+        }
+    }
+
+}
@@ -0,0 +1,16 @@
+package org.micromall.order.kafka.serialization;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.micromall.order.kafka.OrderConfirmation;
+
+public class OrderConfirmationBinaryDeserializer implements Deserializer<OrderConfirmation> {
+
+    @Override
+    public OrderConfirmation deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        return OrderConfirmationCodec.decode(data);
+    }
+
+}
@@ -0,0 +1,16 @@
+package org.micromall.order.kafka.serialization;
+
+import org.apache.kafka.common.serialization.Serializer;
+import org.micromall.order.kafka.OrderConfirmation;
+
+public class OrderConfirmationBinarySerializer implements Serializer<OrderConfirmation> {
+
+    @Override
+    public byte[] serialize(String topic, OrderConfirmation data) {
+        if (data == null) {
+            return null;
+        }
+        return OrderConfirmationCodec.encode(data);
+    }
+
+}
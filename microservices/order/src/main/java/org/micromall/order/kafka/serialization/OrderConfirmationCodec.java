@@ -0,0 +1,266 @@
+package org.micromall.order.kafka.serialization;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.micromall.order.kafka.OrderConfirmation;
+import org.micromall.order.kafka.OrderConfirmationItem;
+import org.micromall.order.utils.MyMoney;
+
+/**
+ * Compact, versioned binary encoding of {@link OrderConfirmation}.
+ *
+ * <p>
+ * Every payload starts with a magic byte and the schema version, followed by
+ * a presence bitmap for the nullable fields. Integers are zig-zag varints,
+ * strings are length-prefixed UTF-8 and amounts are zig-zag varints of
+ * minor units. Decoding dispatches on the version byte, so a new schema is
+ * added as a new version while the older ones stay readable.
+ *
+ * <pre>
+ * v1: magic | version | presence | orderId | status | amount | customerId
+ *     | itemCount | (itemPresence | productId | quantity | price)*
+ *     with amount and price as 8-byte IEEE doubles
+ * v2: same layout, amount and price as varints of minor units
+ * </pre>
+ */
+public final class OrderConfirmationCodec {
+
+    public static final byte MAGIC = (byte) 0xC7;
+    public static final byte CURRENT_VERSION = 2;
+
+    // Order confirmation fields
+    private static final int ORDER_ID = 1;
+    private static final int STATUS = 1 << 1;
+    private static final int AMOUNT = 1 << 2;
+    private static final int CUSTOMER_ID = 1 << 3;
+    private static final int ITEMS = 1 << 4;
+
+    // Item fields
+    private static final int PRODUCT_ID = 1;
+    private static final int QUANTITY = 1 << 1;
+    private static final int PRICE = 1 << 2;
+
+    private OrderConfirmationCodec() {
+    }
+
+    public static byte[] encode(OrderConfirmation confirmation) {
+        Writer writer = new Writer();
+        writer.writeByte(MAGIC);
+        writer.writeByte(CURRENT_VERSION);
+
+        int presence = (confirmation.orderId() != null ? ORDER_ID : 0)
+                | (confirmation.status() != null ? STATUS : 0)
+                | (confirmation.amount() != null ? AMOUNT : 0)
+                | (confirmation.customerId() != null ? CUSTOMER_ID : 0)
+                | (confirmation.items() != null ? ITEMS : 0);
+        writer.writeVarInt(presence);
+
+        if (confirmation.orderId() != null) {
+            writer.writeVarLong(confirmation.orderId());
+        }
+        if (confirmation.status() != null) {
+            writer.writeString(confirmation.status());
+        }
+        if (confirmation.amount() != null) {
+            writer.writeVarLong(confirmation.amount().minorUnits());
+        }
+        if (confirmation.customerId() != null) {
+            writer.writeString(confirmation.customerId());
+        }
+        if (confirmation.items() != null) {
+            writer.writeVarInt(confirmation.items().size());
+            for (OrderConfirmationItem item : confirmation.items()) {
+                int itemPresence = (item.productId() != null ? PRODUCT_ID : 0)
+                        | (item.quantity() != null ? QUANTITY : 0)
+                        | (item.price() != null ? PRICE : 0);
+                writer.writeVarInt(itemPresence);
+                if (item.productId() != null) {
+                    writer.writeVarLong(item.productId());
+                }
+                if (item.quantity() != null) {
+                    writer.writeVarInt(item.quantity());
+                }
+                if (item.price() != null) {
+                    writer.writeVarLong(item.price().minorUnits());
+                }
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    public static OrderConfirmation decode(byte[] data) throws SerializationException {
+        Reader reader = new Reader(data);
+        if (reader.readByte() != MAGIC) {
+            throw new SerializationException("Not a binary order confirmation");
+        }
+        byte version = reader.readByte();
+        return switch (version) {
+            case 1, 2 -> decodeFields(reader, version);
+            default -> throw new SerializationException("Unsupported order confirmation schema version " + version);
+        };
+    }
+
+    // v1 and v2 differ only in the encoding of the amounts
+    private static OrderConfirmation decodeFields(Reader reader, byte version) {
+        int presence = reader.readVarInt();
+        OrderConfirmation.OrderConfirmationBuilder builder = OrderConfirmation.builder();
+        if ((presence & ORDER_ID) != 0) {
+            builder.orderId(reader.readVarLong());
+        }
+        if ((presence & STATUS) != 0) {
+            builder.status(reader.readString());
+        }
+        if ((presence & AMOUNT) != 0) {
+            builder.amount(readMoney(reader, version));
+        }
+        if ((presence & CUSTOMER_ID) != 0) {
+            builder.customerId(reader.readString());
+        }
+        if ((presence & ITEMS) != 0) {
+            int count = reader.readCount();
+            List<OrderConfirmationItem> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int itemPresence = reader.readVarInt();
+                OrderConfirmationItem.OrderConfirmationItemBuilder item = OrderConfirmationItem.builder();
+                if ((itemPresence & PRODUCT_ID) != 0) {
+                    item.productId(reader.readVarLong());
+                }
+                if ((itemPresence & QUANTITY) != 0) {
+                    item.quantity(reader.readVarInt());
+                }
+                if ((itemPresence & PRICE) != 0) {
+                    item.price(readMoney(reader, version));
+                }
+                items.add(item.build());
+            }
+            builder.items(items);
+        }
+        return builder.build();
+    }
+
+    // v1 doubles are rounded to the nearest minor unit, they were computed in floating point
+    private static MyMoney readMoney(Reader reader, byte version) {
+        if (version == 1) {
+            return MyMoney.rounded(BigDecimal.valueOf(reader.readDouble()));
+        }
+        return MyMoney.ofMinor(reader.readVarLong());
+    }
+
+    // Growable output buffer
+    private static final class Writer {
+
+        private byte[] buffer = new byte[128];
+        private int position;
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value);
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            // Zig-zag so small negative values stay short
+            long zigzag = (value << 1) ^ (value >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            buffer[position++] = (byte) zigzag;
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensure(int length) {
+            if (position + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+            }
+        }
+    }
+
+    // Bounds-checked input cursor
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        byte readByte() {
+            require(1);
+            return data[position++];
+        }
+
+        int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() {
+            long zigzag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                zigzag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw new SerializationException("Malformed varint in order confirmation");
+        }
+
+        double readDouble() {
+            require(8);
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits = (bits << 8) | (data[position++] & 0xFF);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        // Every item takes at least its presence byte, a larger count cannot be valid
+        int readCount() {
+            int count = readVarInt();
+            if (count < 0) {
+                throw new SerializationException("Malformed item count in order confirmation");
+            }
+            require(count);
+            return count;
+        }
+
+        String readString() {
+            int length = readVarInt();
+            if (length < 0) {
+                throw new SerializationException("Malformed string in order confirmation");
+            }
+            require(length);
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private void require(int length) {
+            if (data.length - position < length) {
+                throw new SerializationException("Truncated order confirmation");
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package org.micromall.order.modules.customer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.micromall.order.exception.MyNotFoundException;
+import org.micromall.order.exception.MyNotSaveException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Cache of the customers fetched from customer-service, keyed by customer id.
+ * <ul>
+ * <li>Entries are refreshed in the background once they are older than
+ * {@code refresh-after}, so repeat customers never wait on the remote call.</li>
+ * <li>Concurrent misses for the same id share one in-flight remote call.</li>
+ * <li>Unknown ids are cached as absent for {@code negative-ttl} so repeated
+ * lookups of bad ids do not reach customer-service.</li>
+ * <li>Lookups of many ids load the missing ones with batch calls of at most
+ * {@code order.customer.batch.max-ids} ids, the limit customer-service
+ * accepts per call.</li>
+ * <li>Customer changed events replace the cached entries they concern, so
+ * the cache stays current without reloading.</li>
+ * </ul>
+ * Lookups are counted by result (hit, miss, coalesced, negative) under
+ * {@code order.customer.cache.requests}.
+ */
+@Component
+public class CustomerCache {
+
+    // Logger
+    Logger logger = LoggerFactory.getLogger(getClass().getName());
+
+    private final CustomerService customerService;
+    private final int batchMaxIds;
+    private final AsyncLoadingCache<String, Optional<CustomerDTO>> cache;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Metrics
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter negativeHits;
+
+    public CustomerCache(
+            CustomerService customerService,
+            MeterRegistry meterRegistry,
+            @Value("${order.customer.cache.maximum-size:100000}") long maximumSize,
+            @Value("${order.customer.cache.ttl:30m}") Duration ttl,
+            @Value("${order.customer.cache.refresh-after:5m}") Duration refreshAfter,
+            @Value("${order.customer.cache.negative-ttl:30s}") Duration negativeTtl,
+            @Value("${order.customer.batch.max-ids:1000}") int batchMaxIds) {
+        this.customerService = customerService;
+        this.batchMaxIds = batchMaxIds;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Optional<CustomerDTO>>() {
+                    @Override
+                    public long expireAfterCreate(String id, Optional<CustomerDTO> customer, long currentTime) {
+                        return customer.isPresent() ? ttl.toNanos() : negativeTtl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String id, Optional<CustomerDTO> customer, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(id, customer, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String id, Optional<CustomerDTO> customer, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .refreshAfterWrite(refreshAfter)
+                .executor(executor)
+                .recordStats()
+                .buildAsync(new CacheLoader<String, Optional<CustomerDTO>>() {
+                    @Override
+                    public Optional<CustomerDTO> load(String id) {
+                        return CustomerCache.this.load(id);
+                    }
+
+                    @Override
+                    public Map<String, Optional<CustomerDTO>> loadAll(Set<? extends String> ids) {
+                        return CustomerCache.this.loadAll(ids);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "customers");
+
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.coalesced = requests(meterRegistry, "coalesced");
+        this.negativeHits = requests(meterRegistry, "negative");
+    }
+
+    public CustomerDTO findById(String id) throws MyNotFoundException {
+        // The mapping function only runs for the caller that starts the remote call
+        boolean[] loading = { false };
+        CompletableFuture<Optional<CustomerDTO>> future = cache.get(id, (key, loadExecutor) -> {
+            loading[0] = true;
+            return CompletableFuture.supplyAsync(() -> load(key), loadExecutor);
+        });
+        if (loading[0]) {
+            misses.increment();
+        } else if (!future.isDone()) {
+            coalesced.increment();
+        } else {
+            hits.increment();
+        }
+
+        Optional<CustomerDTO> customer = await(future);
+        if (customer.isEmpty()) {
+            if (!loading[0]) {
+                negativeHits.increment();
+            }
+            throw new MyNotFoundException("Customer not found");
+        }
+        return customer.get();
+    }
+
+    // Found customers keyed by id, the ids not cached yet are fetched in batch calls
+    public Map<String, CustomerDTO> findAllById(Collection<String> ids) {
+        Map<String, Optional<CustomerDTO>> customers = await(cache.getAll(ids));
+        Map<String, CustomerDTO> found = new HashMap<>();
+        customers.forEach((id, customer) -> customer.ifPresent(value -> found.put(id, value)));
+        return found;
+    }
+
+    // Replace a cached customer with its changed state, ids not cached are left alone
+    public void update(String id, CustomerDTO customer) {
+        cache.synchronous().asMap().computeIfPresent(id, (key, cached) -> Optional.of(customer));
+    }
+
+    public void invalidate(String id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Optional<CustomerDTO> load(String id) {
+        try {
+            return Optional.ofNullable(customerService.findById(id));
+        } catch (FeignException.NotFound e) {
+            logger.info("Customer with id {} not found", id);
+            return Optional.empty();
+        }
+    }
+
+    // Ids missing from the responses are cached as absent
+    private Map<String, Optional<CustomerDTO>> loadAll(Set<? extends String> ids) {
+        logger.debug("Loading {} customers from customer-service", ids.size());
+        List<String> pending = new ArrayList<>(ids);
+        Map<String, Optional<CustomerDTO>> loaded = new HashMap<>();
+        // customer-service rejects calls with more than batchMaxIds ids
+        for (int from = 0; from < pending.size(); from += batchMaxIds) {
+            List<String> batch = pending.subList(from, Math.min(from + batchMaxIds, pending.size()));
+            Map<String, CustomerDTO> customers = customerService.findAllById(batch);
+            for (String id : batch) {
+                loaded.put(id, Optional.ofNullable(customers == null ? null : customers.get(id)));
+            }
+        }
+        return loaded;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new MyNotSaveException("Customer lookup failed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MyNotSaveException("Customer lookup interrupted");
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("order.customer.cache.requests")
+                .description("Customer lookups by cache result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+}
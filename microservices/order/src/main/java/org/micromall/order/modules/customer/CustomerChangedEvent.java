@@ -0,0 +1,9 @@
+package org.micromall.order.modules.customer;
+
+// Published by customer-service when a customer is created, updated or deleted, the customer is left out on deletes
+public record CustomerChangedEvent(
+        String customerId,
+        Boolean deleted,
+        CustomerDTO customer) {
+
+}
@@ -0,0 +1,37 @@
+package org.micromall.order.modules.customer;
+
+import java.util.List;
+
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerChangedListener {
+
+    private final CustomerCache customerCache;
+
+    // Every instance uses its own consumer group so all the near-caches get the event
+    @KafkaListener(
+            topics = "${kafka.customer.topic}",
+            groupId = "${spring.application.name}-${random.uuid}",
+            containerFactory = "customerEventListenerFactory")
+    public void onCustomersChanged(List<CustomerChangedEvent> events) {
+        log.debug("Applying {} customer changes to the cache", events.size());
+        for (CustomerChangedEvent event : events) {
+            if (event == null || event.customerId() == null) {
+                continue;
+            }
+            if (Boolean.TRUE.equals(event.deleted()) || event.customer() == null) {
+                customerCache.invalidate(event.customerId());
+            } else {
+                customerCache.update(event.customerId(), event.customer());
+            }
+        }
+    }
+
+}
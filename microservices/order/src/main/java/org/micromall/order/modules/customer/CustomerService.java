@@ -1,12 +1,21 @@
 package org.micromall.order.modules.customer;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 @FeignClient(name = "customer-service")
 public interface CustomerService {
 
     @GetMapping("/api/v1/customer/{id}")
-    CustomerDTO findById(@PathVariable String id);    
+    CustomerDTO findById(@PathVariable String id);
+
+    // One call for many customers, unknown ids are missing from the returned map
+    @PostMapping("/api/v1/customers/batch")
+    Map<String, CustomerDTO> findAllById(@RequestBody Collection<String> ids);
 }
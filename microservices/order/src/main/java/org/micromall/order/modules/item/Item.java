@@ -2,8 +2,11 @@ package org.micromall.order.modules.item;
 
 import org.micromall.order.modules.order.Order;
 import org.micromall.order.utils.MyEntity;
+import org.micromall.order.utils.MyMoney;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -11,10 +14,11 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "items")
+@Table(name = "items", indexes = @Index(name = "idx_items_order_id", columnList = "order_id"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
@@ -24,8 +28,13 @@ public class Item extends MyEntity {
 
     private Long productId;
     private Integer quantity;
-    private Double itemAmount;
+    @Column(precision = 19, scale = 2)
+    private MyMoney itemAmount;
+    // Catalog price version the item amount was computed from
+    private Long priceVersion;
     @ManyToOne
     @JoinColumn(name = "order_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Order order;
 }
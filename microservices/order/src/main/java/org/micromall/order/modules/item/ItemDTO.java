@@ -1,6 +1,8 @@
 package org.micromall.order.modules.item;
 
 
+import org.micromall.order.utils.MyMoney;
+
 import ch.qos.logback.core.joran.spi.NoAutoStart;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,7 +17,8 @@ public class ItemDTO {
     private Long id;
     private Long productId;
     private String title;
-    private Double price;
+    private MyMoney price;
     private Integer quantity;
+    private MyMoney amount;
 
 }
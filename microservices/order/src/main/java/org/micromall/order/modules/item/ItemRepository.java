@@ -1,6 +1,17 @@
 package org.micromall.order.modules.item;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+
+    // Items of a page of orders in one query
+    @Query("SELECT new org.micromall.order.modules.item.ItemRow(i.order.id, i.id, i.productId, i.quantity, i.itemAmount) "
+            + "FROM Item i WHERE i.order.id IN :orderIds ORDER BY i.id")
+    List<ItemRow> findRowsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
 }
@@ -0,0 +1,13 @@
+package org.micromall.order.modules.item;
+
+import org.micromall.order.utils.MyMoney;
+
+// Read projection of an order item
+public record ItemRow(
+        Long orderId,
+        Long id,
+        Long productId,
+        Integer quantity,
+        MyMoney itemAmount) {
+
+}
@@ -4,9 +4,12 @@ import java.util.List;
 
 import org.micromall.order.modules.item.Item;
 import org.micromall.order.utils.MyEntity;
+import org.micromall.order.utils.MyMoney;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -16,7 +19,7 @@ import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_customer_id_id", columnList = "customer_id, id"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
@@ -25,7 +28,8 @@ import lombok.experimental.SuperBuilder;
 public class Order extends MyEntity {
 
     private String customerId;
-    private Double amount;
+    @Column(precision = 19, scale = 2)
+    private MyMoney amount;
     private OrderStatus status;
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
     private List<Item> items;
@@ -0,0 +1,25 @@
+package org.micromall.order.modules.order;
+
+import org.micromall.order.utils.MyMoney;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Builder;
+
+// Outcome of one line of a bulk order upload
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderBulkResult(
+        long line,
+        String status,
+        Long orderId,
+        MyMoney amount,
+        String error) {
+
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+
+    public static OrderBulkResult failed(long line, String error) {
+        return OrderBulkResult.builder().line(line).status(FAILED).error(error).build();
+    }
+}
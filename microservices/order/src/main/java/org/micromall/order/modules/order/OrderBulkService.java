@@ -0,0 +1,215 @@
+package org.micromall.order.modules.order;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.micromall.order.modules.customer.CustomerCache;
+import org.micromall.order.modules.customer.CustomerDTO;
+import org.micromall.order.modules.product.ProductPriceCache;
+import org.micromall.order.modules.product.ProductSnapshot;
+import org.micromall.order.modules.product.PurchaseRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Creates orders from an NDJSON stream, one {@link OrderRequest} per line.
+ * Lines are read incrementally and processed in chunks: the customers and
+ * products of a chunk are resolved once (deduplicated), the chunk is persisted
+ * in one transaction, and one {@link OrderBulkResult} per line is streamed back
+ * as soon as the chunk is done. When the transaction of a chunk is rejected
+ * its lines are retried one by one so only the failing ones are reported.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderBulkService {
+
+    // Logger
+    Logger logger = LoggerFactory.getLogger(getClass().getName());
+
+    // Service
+    private final OrderService orderService;
+    private final CustomerCache customerCache;
+    private final ProductPriceCache productPriceCache;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${order.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    public void createAll(InputStream input, OutputStream output) throws IOException {
+        ObjectReader requestReader = objectMapper.readerFor(OrderRequest.class);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        List<BulkLine> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(parse(requestReader, lineNumber, line));
+            if (chunk.size() == chunkSize) {
+                write(output, process(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(output, process(chunk));
+        }
+    }
+
+    private BulkLine parse(ObjectReader requestReader, long lineNumber, String line) {
+        try {
+            OrderRequest request = requestReader.readValue(line);
+            if (request == null) {
+                // A "null" line
+                return BulkLine.failed(lineNumber, "Malformed order");
+            }
+            Set<ConstraintViolation<OrderRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                return BulkLine.failed(lineNumber, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .collect(Collectors.joining(", ")));
+            }
+            return new BulkLine(lineNumber, request, null);
+        } catch (JsonProcessingException e) {
+            return BulkLine.failed(lineNumber, "Malformed order");
+        }
+    }
+
+    private List<OrderBulkResult> process(List<BulkLine> chunk) {
+        List<BulkLine> valid = chunk.stream().filter(line -> line.request() != null).toList();
+
+        // Resolve every distinct customer and product of the chunk once
+        Map<String, CustomerDTO> customers = resolveCustomers(valid);
+        ProductSnapshot snapshot = resolveProducts(valid);
+
+        Map<Long, OrderBulkResult> results = new HashMap<>();
+        List<BulkLine> ready = new ArrayList<>(valid.size());
+        for (BulkLine line : valid) {
+            if (customers.get(line.request().customerId()) == null) {
+                results.put(line.number(), OrderBulkResult.failed(line.number(), "Customer not found"));
+            } else if (!line.request().products().stream().allMatch(this::isPurchasable)) {
+                results.put(line.number(), OrderBulkResult.failed(line.number(), "Invalid product line"));
+            } else if (!line.request().products().stream().allMatch(p -> snapshot.contains(p.productId()))) {
+                results.put(line.number(), OrderBulkResult.failed(line.number(), "Product not found"));
+            } else if (!orderService.totalOf(line.request(), snapshot).equals(line.request().amount())) {
+                // Checked here so one mismatch does not roll back the whole chunk
+                results.put(line.number(), OrderBulkResult.failed(line.number(), "Order amount mismatch"));
+            } else {
+                ready.add(line);
+            }
+        }
+
+        // Persist the chunk in one transaction, when it is rejected retry line by line to isolate the failing ones
+        try {
+            results.putAll(save(ready, customers, snapshot));
+        } catch (RuntimeException e) {
+            logger.warn("Bulk order chunk of {} orders not saved, retrying line by line", ready.size(), e);
+            for (BulkLine line : ready) {
+                try {
+                    results.putAll(save(List.of(line), customers, snapshot));
+                } catch (RuntimeException lineException) {
+                    logger.error("Bulk order line {} not saved", line.number(), lineException);
+                    results.put(line.number(), OrderBulkResult.failed(line.number(), "Order not saved try again"));
+                }
+            }
+        }
+
+        // Report the lines in input order
+        return chunk.stream()
+                .map(line -> line.request() == null
+                        ? OrderBulkResult.failed(line.number(), line.error())
+                        : results.get(line.number()))
+                .toList();
+    }
+
+    // Place the orders in one transaction, the results are only returned once it committed
+    private Map<Long, OrderBulkResult> save(List<BulkLine> lines, Map<String, CustomerDTO> customers,
+            ProductSnapshot snapshot) {
+        Map<Long, OrderBulkResult> saved = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (BulkLine line : lines) {
+                OrderDTO order = orderService.placeOrder(line.request(),
+                        customers.get(line.request().customerId()), snapshot);
+                saved.put(line.number(), OrderBulkResult.builder()
+                        .line(line.number())
+                        .status(OrderBulkResult.CREATED)
+                        .orderId(order.getId())
+                        .amount(order.getAmount())
+                        .build());
+            }
+        });
+        return saved;
+    }
+
+    private boolean isPurchasable(PurchaseRequest purchase) {
+        return purchase != null && purchase.productId() != null
+                && purchase.quantity() != null && purchase.quantity() > 0;
+    }
+
+    private Map<String, CustomerDTO> resolveCustomers(List<BulkLine> lines) {
+        Set<String> customerIds = lines.stream()
+                .map(line -> line.request().customerId())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        // Customers not cached yet are fetched with one batch call
+        Map<String, CustomerDTO> customers = customerCache.findAllById(customerIds);
+        if (customers.size() < customerIds.size()) {
+            logger.info("{} customers of the chunk not found", customerIds.size() - customers.size());
+        }
+        return customers;
+    }
+
+    private ProductSnapshot resolveProducts(List<BulkLine> lines) {
+        List<Long> productIds = lines.stream()
+                .flatMap(line -> line.request().products().stream())
+                .filter(this::isPurchasable)
+                .map(PurchaseRequest::productId)
+                .distinct()
+                .toList();
+        if (productIds.isEmpty()) {
+            return ProductSnapshot.of(List.of());
+        }
+        return ProductSnapshot.of(productPriceCache.fetchPurchaseProducts(productIds));
+    }
+
+    private void write(OutputStream output, List<OrderBulkResult> results) throws IOException {
+        for (OrderBulkResult result : results) {
+            output.write(objectMapper.writeValueAsBytes(result));
+            output.write('\n');
+        }
+        output.flush();
+    }
+
+    private record BulkLine(long number, OrderRequest request, String error) {
+
+        static BulkLine failed(long number, String error) {
+            return new BulkLine(number, null, error);
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package org.micromall.order.modules.order;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.micromall.order.modules.customer.CustomerDTO;
+import org.micromall.order.utils.MyResponse;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -17,6 +27,7 @@ import lombok.RequiredArgsConstructor;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderBulkService orderBulkService;
 
     @GetMapping("/api/v1/order/customer/{id}")
     public ResponseEntity<CustomerDTO> getCustomer(@PathVariable String id) {
@@ -29,4 +40,40 @@ public class OrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(order);
     }
 
+    // Fetch an order with its items
+    @GetMapping("/api/v1/order/{id}")
+    public ResponseEntity<OrderDTO> fetchOrder(@PathVariable Long id) {
+        return ResponseEntity.ok(orderService.fetchById(id));
+    }
+
+    // Fetch a keyset page of a customer's orders, pass the returned "next" as "before" for the following page
+    @GetMapping("/api/v1/orders/customer/{customerId}")
+    public ResponseEntity<MyResponse> fetchCustomerOrders(
+            @PathVariable String customerId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "20") int size) {
+        Slice<OrderDTO> orders = orderService.fetchByCustomer(customerId, before, Math.clamp(size, 1, 100));
+
+        // Create a meta object
+        Map<String, Object> meta = new HashMap<>();
+        meta.put("size", orders.getNumberOfElements());
+        meta.put("hasNext", orders.hasNext());
+        meta.put("next", orders.hasNext() ? orders.getContent().getLast().getId() : null);
+
+        return ResponseEntity.ok(MyResponse.builder()
+                .message("Orders fetched successfully")
+                .data(orders.getContent())
+                .meta(meta)
+                .build());
+    }
+
+    // Create orders from an NDJSON body, one result line is streamed back per order line
+    @PostMapping(value = "/api/v1/orders/bulk", consumes = "application/x-ndjson")
+    public void createOrders(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        orderBulkService.createAll(request.getInputStream(), response.getOutputStream());
+    }
+
 }
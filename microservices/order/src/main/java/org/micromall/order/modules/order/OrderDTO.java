@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.micromall.order.modules.item.ItemDTO;
+import org.micromall.order.utils.MyMoney;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,7 +17,7 @@ import lombok.NoArgsConstructor;
 @Builder
 public class OrderDTO {
     private Long id;
-    private Double amount;
+    private MyMoney amount;
     private OrderStatus status;
     private LocalDateTime createAt;
     private LocalDateTime updateAt;
@@ -0,0 +1,13 @@
+package org.micromall.order.modules.order;
+
+import java.util.List;
+
+import org.micromall.order.modules.customer.CustomerDTO;
+import org.micromall.order.modules.product.ProductDTO;
+
+// Remote data needed to create an order
+public record OrderLookup(
+        CustomerDTO customer,
+        List<ProductDTO> products) {
+
+}
@@ -0,0 +1,151 @@
+package org.micromall.order.modules.order;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.micromall.order.exception.MyNotSaveException;
+import org.micromall.order.modules.customer.CustomerDTO;
+import org.micromall.order.modules.customer.CustomerCache;
+import org.micromall.order.modules.product.ProductDTO;
+import org.micromall.order.modules.product.ProductPriceCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Resolves the customer and the purchased products needed to create an order.
+ * In concurrent mode both remote calls run in parallel on virtual threads, each
+ * with its own deadline; the first failure or missed deadline cancels the other
+ * call. The latency of every dependency is published as a histogram under
+ * {@code order.dependency.latency}.
+ */
+@Service
+public class OrderLookupService {
+
+    // Logger
+    Logger logger = LoggerFactory.getLogger(getClass().getName());
+
+    // Service
+    private final CustomerCache customerCache;
+    private final ProductPriceCache productPriceCache;
+
+    // Metrics
+    private final Timer customerTimer;
+    private final Timer catalogTimer;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final boolean concurrent;
+    private final Duration customerTimeout;
+    private final Duration catalogTimeout;
+
+    public OrderLookupService(
+            CustomerCache customerCache,
+            ProductPriceCache productPriceCache,
+            MeterRegistry meterRegistry,
+            @Value("${order.lookup.mode:concurrent}") String mode,
+            @Value("${order.lookup.customer-timeout:2s}") Duration customerTimeout,
+            @Value("${order.lookup.catalog-timeout:2s}") Duration catalogTimeout) {
+        this.customerCache = customerCache;
+        this.productPriceCache = productPriceCache;
+        this.customerTimer = dependencyTimer(meterRegistry, "customer-service");
+        this.catalogTimer = dependencyTimer(meterRegistry, "catalog-service");
+        this.concurrent = "concurrent".equalsIgnoreCase(mode);
+        this.customerTimeout = customerTimeout;
+        this.catalogTimeout = catalogTimeout;
+    }
+
+    public OrderLookup lookup(String customerId, List<Long> productIds) {
+        if (!concurrent) {
+            CustomerDTO customer = customerTimer.record(() -> customerCache.findById(customerId));
+            List<ProductDTO> products = catalogTimer.record(() -> productPriceCache.fetchPurchaseProducts(productIds));
+            return new OrderLookup(customer, products);
+        }
+
+        // Issue both remote calls at once
+        long start = System.nanoTime();
+        CompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+        RemoteCall customerCall = new RemoteCall("Customer service",
+                completion.submit(timed(customerTimer, () -> customerCache.findById(customerId))),
+                start + customerTimeout.toNanos());
+        RemoteCall catalogCall = new RemoteCall("Catalog service",
+                completion.submit(timed(catalogTimer, () -> productPriceCache.fetchPurchaseProducts(productIds))),
+                start + catalogTimeout.toNanos());
+
+        try {
+            // Wait for the calls in completion order so the first failure surfaces right away
+            for (int pending = 2; pending > 0; pending--) {
+                RemoteCall next = nextDeadline(customerCall, catalogCall);
+                Future<Object> done = completion.poll(next.deadline() - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    logger.error("{} did not respond before its deadline", next.name());
+                    throw new MyNotSaveException(next.name() + " did not respond in time");
+                }
+                done.get();
+            }
+            return new OrderLookup((CustomerDTO) customerCall.future().get(), products(catalogCall.future().get()));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new MyNotSaveException("Order lookup failed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MyNotSaveException("Order lookup interrupted");
+        } finally {
+            // Cancel whatever is still running, a no-op for completed calls
+            customerCall.future().cancel(true);
+            catalogCall.future().cancel(true);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Pending call with the closest deadline
+    private static RemoteCall nextDeadline(RemoteCall first, RemoteCall second) {
+        if (first.future().isDone()) {
+            return second;
+        }
+        if (second.future().isDone()) {
+            return first;
+        }
+        return first.deadline() <= second.deadline() ? first : second;
+    }
+
+    private static <T> Callable<Object> timed(Timer timer, Supplier<T> call) {
+        return () -> timer.record(call);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ProductDTO> products(Object result) {
+        return (List<ProductDTO>) result;
+    }
+
+    private static Timer dependencyTimer(MeterRegistry meterRegistry, String dependency) {
+        return Timer.builder("order.dependency.latency")
+                .description("Latency of the remote calls made while creating an order")
+                .tag("dependency", dependency)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private record RemoteCall(String name, Future<Object> future, long deadline) {
+    }
+}
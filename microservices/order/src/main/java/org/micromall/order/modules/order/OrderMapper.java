@@ -1,8 +1,11 @@
 package org.micromall.order.modules.order;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.micromall.order.interfaces.IMapper;
+import org.micromall.order.modules.item.ItemDTO;
+import org.micromall.order.modules.item.ItemRow;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -24,6 +27,45 @@ public class OrderMapper implements IMapper<Order, OrderDTO, OrderRequest> {
                 .id(entity.getId())
                 .amount(entity.getAmount())
                 .status(entity.getStatus())
+                .customerId(entity.getCustomerId())
+                .createAt(entity.getCreatedAt())
+                .updateAt(entity.getUpdatedAt())
+                .build();
+    }
+
+    // Transform an Order with its fetched items to an Order DTO
+    public OrderDTO toDTOWithItems(Order entity) {
+        OrderDTO dto = toDTO(entity);
+        if (dto != null) {
+            dto.setItems(entity.getItems().stream()
+                    .map(item -> ItemDTO.builder()
+                            .id(item.getId())
+                            .productId(item.getProductId())
+                            .quantity(item.getQuantity())
+                            .amount(item.getItemAmount())
+                            .build())
+                    .collect(Collectors.toList()));
+        }
+        return dto;
+    }
+
+    // Transform the read projections of an order and its items to an Order DTO
+    public OrderDTO fromRows(OrderRow row, List<ItemRow> items) {
+        return OrderDTO.builder()
+                .id(row.id())
+                .amount(row.amount())
+                .status(row.status())
+                .customerId(row.customerId())
+                .createAt(row.createdAt())
+                .updateAt(row.updatedAt())
+                .items(items.stream()
+                        .map(item -> ItemDTO.builder()
+                                .id(item.id())
+                                .productId(item.productId())
+                                .quantity(item.quantity())
+                                .amount(item.itemAmount())
+                                .build())
+                        .collect(Collectors.toList()))
                 .build();
     }
 
@@ -1,7 +1,25 @@
 package org.micromall.order.modules.order;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface OrderRepository extends JpaRepository<Order,Long> {
-    
+
+    // Order with its items in one query
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id = :id")
+    Optional<Order> findWithItemsById(@Param("id") Long id);
+
+    // Keyset page of a customer's orders, newest first, served by the (customer_id, id) index
+    @Query("SELECT new org.micromall.order.modules.order.OrderRow(o.id, o.customerId, o.amount, o.status, o.createdAt, o.updatedAt) "
+            + "FROM Order o WHERE o.customerId = :customerId AND o.id < :before ORDER BY o.id DESC")
+    List<OrderRow> findRowsByCustomer(
+            @Param("customerId") String customerId,
+            @Param("before") Long before,
+            Limit limit);
+
 }
@@ -3,16 +3,17 @@ package org.micromall.order.modules.order;
 import java.util.List;
 
 import org.micromall.order.modules.product.PurchaseRequest;
+import org.micromall.order.utils.MyMoney;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
 
 public record OrderRequest(
 
-    @Positive(message = "Order amount should be positive")
-    Double amount,
+    // Total expected by the client, the order is rejected when it differs from the computed one
+    @NotNull(message = "Order amount should be present")
+    MyMoney amount,
     @NotNull(message = "Customer should be present")
     @NotEmpty(message = "Customer should be present")
     @NotBlank(message = "Customer should be present")
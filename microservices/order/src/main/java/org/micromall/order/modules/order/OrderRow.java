@@ -0,0 +1,16 @@
+package org.micromall.order.modules.order;
+
+import org.micromall.order.utils.MyMoney;
+
+import java.time.LocalDateTime;
+
+// Read projection of an order without its items
+public record OrderRow(
+        Long id,
+        String customerId,
+        MyMoney amount,
+        OrderStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+}
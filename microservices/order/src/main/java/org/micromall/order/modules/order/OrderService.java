@@ -1,25 +1,34 @@
 package org.micromall.order.modules.order;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.micromall.order.exception.MyBadRequestException;
 import org.micromall.order.exception.MyNotDeleteException;
 import org.micromall.order.exception.MyNotFoundException;
 import org.micromall.order.exception.MyNotSaveException;
 import org.micromall.order.interfaces.IDaoService;
 import org.micromall.order.kafka.OrderConfirmation;
-import org.micromall.order.kafka.OrderProducer;
+import org.micromall.order.kafka.OrderConfirmationItem;
+import org.micromall.order.kafka.outbox.OrderOutboxService;
 import org.micromall.order.modules.customer.CustomerDTO;
 import org.micromall.order.modules.customer.CustomerService;
 import org.micromall.order.modules.item.Item;
 import org.micromall.order.modules.item.ItemDTO;
+import org.micromall.order.modules.item.ItemRepository;
+import org.micromall.order.modules.item.ItemRow;
 import org.micromall.order.modules.product.ProductDTO;
-import org.micromall.order.modules.product.ProductService;
+import org.micromall.order.modules.product.ProductSnapshot;
 import org.micromall.order.modules.product.PurchaseRequest;
+import org.micromall.order.utils.MyMoney;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,11 +43,12 @@ public class OrderService implements IDaoService<Order, OrderDTO, OrderRequest,
 
     // Repository
     private final OrderRepository orderRepository;
+    private final ItemRepository itemRepository;
 
     // Service
     private final CustomerService customerService;
-    private final ProductService productService;
-    private final OrderProducer orderProducer;
+    private final OrderLookupService orderLookupService;
+    private final OrderOutboxService orderOutboxService;
 
     // Mapper
     private final OrderMapper orderMapper;
@@ -46,52 +56,64 @@ public class OrderService implements IDaoService<Order, OrderDTO, OrderRequest,
     @Override
     @Transactional
     public OrderDTO create(OrderRequest request) throws MyNotSaveException {
-        // Get customer information from customer microservices
-        CustomerDTO customer = customerService.findById(request.customerId());
+        // Get the customer and the purchased products from the customer and catalog microservices
+        List<Long> productIds = request.products().stream()
+                .map(PurchaseRequest::productId)
+                .collect(Collectors.toList());
+        OrderLookup lookup = orderLookupService.lookup(request.customerId(), productIds);
+
+        CustomerDTO customer = lookup.customer();
         if (customer == null) {
             logger.info("Customer with id {} not found", request.customerId());
             throw new MyNotFoundException("Customer not found");
         }
 
-        // Purchase product form the catalog microservice
-        List<Long> productIds = request.products().stream()
-                .map(PurchaseRequest::productId)
-                .collect(Collectors.toList());
-        List<ProductDTO> products = productService.fetchPurchaseProducts(productIds);
-        if (products.isEmpty()) {
+        List<ProductDTO> products = lookup.products();
+        if (products == null || products.isEmpty()) {
             logger.info("Product with id {} not found", productIds);
             throw new MyNotFoundException("Product not found");
         }
+        // Index the purchased products by id once for all the lookups below
+        return placeOrder(request, customer, ProductSnapshot.of(products));
+    }
+
+    // Total of the order in exact minor units, line amounts are price times quantity
+    public MyMoney totalOf(OrderRequest request, ProductSnapshot snapshot) throws MyNotFoundException {
+        MyMoney total = MyMoney.ZERO;
+        for (PurchaseRequest item : request.products()) {
+            total = total.plus(snapshot.require(item.productId()).getPrice().times(item.quantity()));
+        }
+        return total;
+    }
+
+    // Create the order from already resolved customer and products, must run in a transaction
+    public OrderDTO placeOrder(OrderRequest request, CustomerDTO customer, ProductSnapshot snapshot)
+            throws MyNotSaveException, MyBadRequestException {
+        MyMoney orderAmount = totalOf(request, snapshot);
+        if (!orderAmount.equals(request.amount())) {
+            logger.info("The amount {} sent by request is not equal to the total amount {} of the order",
+                    request.amount(), orderAmount);
+            throw new MyBadRequestException("The order amount does not match the total of its items", "amount");
+        }
 
         // Create items
         List<Item> items = request.products().stream()
                 .map(item -> {
-                    // Filter the corresponding product by ID
-                    ProductDTO product = products.stream()
-                            .filter(p -> p.getId().equals(item.productId()))
-                            .findFirst()
-                            .orElseThrow(() -> new MyNotFoundException("Product not found"));
+                    // Find the corresponding product by ID
+                    ProductDTO product = snapshot.require(item.productId());
 
                     // Calcul the items amount
-                    Double itemAmount = item.quantity() * product.getPrice();
+                    MyMoney itemAmount = product.getPrice().times(item.quantity());
 
                     return Item.builder()
                             .productId(item.productId())
                             .quantity(item.quantity())
                             .itemAmount(itemAmount)
+                            .priceVersion(product.getPriceVersion())
                             .build();
                 })
                 .collect(Collectors.toList());
 
-        // Calcul the total order amount
-        Double orderAmount = items.stream()
-                .mapToDouble(Item::getItemAmount)
-                .sum();
-
-        if (orderAmount.equals(request.amount())) {
-            logger.info("The amount sent by request is not equal to the total amount of the order");
-        }
-
         // Create a order
         Order order = Order.builder()
                 .items(items)
@@ -99,16 +121,17 @@ public class OrderService implements IDaoService<Order, OrderDTO, OrderRequest,
                 .amount(orderAmount)
                 .status(OrderStatus.PENDING)
                 .build();
+        // Link the items to their order so the cascade writes the order_id
+        for (Item item : items) {
+            item.setOrder(order);
+        }
         order = orderRepository.save(order);
 
         // Create List of ItemDTO
         List<ItemDTO> itemDTOs = items.stream()
                 .map(item -> {
                     // Find the corresponding product by ID
-                    ProductDTO product = products.stream()
-                            .filter(p -> p.getId().equals(item.getProductId()))
-                            .findFirst()
-                            .orElseThrow(() -> new MyNotFoundException("Product not found"));
+                    ProductDTO product = snapshot.require(item.getProductId());
 
                     // Build ItemDTO with title, price, etc.
                     return ItemDTO.builder()
@@ -125,13 +148,19 @@ public class OrderService implements IDaoService<Order, OrderDTO, OrderRequest,
         orderDTO.setCustomerId(customer.getId());
         orderDTO.setItems(itemDTOs);
 
-        // Sent order confirmation to Kafka
-        orderProducer.sendOrderConfirmation(OrderConfirmation.builder()
+        // Record the order confirmation in the outbox, it is relayed to Kafka after commit
+        orderOutboxService.enqueue(OrderConfirmation.builder()
                 .orderId(order.getId())
                 .amount(order.getAmount())
                 .status(order.getStatus().name())
-                .customer(customer)
-                .products(products)
+                .customerId(customer.getId())
+                .items(itemDTOs.stream()
+                        .map(item -> OrderConfirmationItem.builder()
+                                .productId(item.getProductId())
+                                .quantity(item.getQuantity())
+                                .price(item.getPrice())
+                                .build())
+                        .collect(Collectors.toList()))
                 .build());
         return orderDTO;
     }
@@ -143,9 +172,38 @@ public class OrderService implements IDaoService<Order, OrderDTO, OrderRequest,
     }
 
     @Override
+    @Transactional(readOnly = true)
     public OrderDTO fetchById(Long id) throws MyNotFoundException {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'fetchById'");
+        // Fetch the order and its items in one query
+        Order order = orderRepository.findWithItemsById(id)
+                .orElseThrow(() -> new MyNotFoundException("Order not found"));
+        return orderMapper.toDTOWithItems(order);
+    }
+
+    // Fetch a keyset page of a customer's orders, newest first
+    @Transactional(readOnly = true)
+    public Slice<OrderDTO> fetchByCustomer(String customerId, Long before, int size) {
+        // Read one extra row to know whether another page follows
+        List<OrderRow> rows = orderRepository.findRowsByCustomer(
+                customerId,
+                before == null ? Long.MAX_VALUE : before,
+                Limit.of(size + 1));
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+
+        // Fetch the items of the whole page in one query
+        Map<Long, List<ItemRow>> items = rows.isEmpty()
+                ? Map.of()
+                : itemRepository.findRowsByOrderIds(rows.stream().map(OrderRow::id).toList())
+                        .stream()
+                        .collect(Collectors.groupingBy(ItemRow::orderId));
+
+        List<OrderDTO> orders = rows.stream()
+                .map(row -> orderMapper.fromRows(row, items.getOrDefault(row.id(), List.of())))
+                .toList();
+        return new SliceImpl<>(orders, Pageable.ofSize(size), hasNext);
     }
 
     @Override
@@ -0,0 +1,11 @@
+package org.micromall.order.modules.product;
+
+import org.micromall.order.utils.MyMoney;
+
+// Published by the catalog when the price or title of a product changes, or when it is deleted
+public record ProductChangedEvent(
+        Long productId,
+        MyMoney price,
+        Boolean deleted) {
+
+}
@@ -0,0 +1,26 @@
+package org.micromall.order.modules.product;
+
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductChangedListener {
+
+    private final ProductPriceCache productPriceCache;
+
+    // Every instance uses its own consumer group so all the near-caches get the event
+    @KafkaListener(
+            topics = "${kafka.product.topic}",
+            groupId = "${spring.application.name}-${random.uuid}",
+            containerFactory = "productEventListenerFactory")
+    public void onProductChanged(ProductChangedEvent event) {
+        log.debug("Invalidating cached product {}", event.productId());
+        productPriceCache.invalidate(event.productId());
+    }
+
+}
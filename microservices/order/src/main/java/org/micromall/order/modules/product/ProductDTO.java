@@ -1,5 +1,7 @@
 package org.micromall.order.modules.product;
 
+import org.micromall.order.utils.MyMoney;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,5 +14,7 @@ import lombok.NoArgsConstructor;
 public class ProductDTO {
     private Long id;
     private String title;
-    private Double price;
+    private MyMoney price;
+    // Catalog price version the price belongs to
+    private Long priceVersion;
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package org.micromall.order.modules.product;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded near-cache of the catalog purchase data (title and price) in front
+ * of the {@link ProductService} Feign client. Entries expire after a TTL and
+ * are evicted by size; the catalog invalidates them through product changed
+ * events. When verification is enabled the price versions of the cached
+ * entries are checked against the catalog in one batched call before an
+ * order uses them, so a missed event cannot price an order with a stale
+ * price. Hit ratio, load latency and evictions are published under the
+ * {@code catalog.prices} cache metrics.
+ */
+@Component
+public class ProductPriceCache {
+
+    // Logger
+    Logger logger = LoggerFactory.getLogger(getClass().getName());
+
+    private final ProductService productService;
+    private final LoadingCache<Long, ProductDTO> cache;
+    private final boolean verify;
+
+    public ProductPriceCache(
+            ProductService productService,
+            MeterRegistry meterRegistry,
+            @Value("${order.catalog.cache.maximum-size:100000}") long maximumSize,
+            @Value("${order.catalog.cache.ttl:10m}") Duration ttl,
+            @Value("${order.catalog.cache.verify:true}") boolean verify) {
+        this.productService = productService;
+        this.verify = verify;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(new CacheLoader<Long, ProductDTO>() {
+                    @Override
+                    public ProductDTO load(Long id) {
+                        return loadAll(Set.of(id)).get(id);
+                    }
+
+                    @Override
+                    public Map<Long, ProductDTO> loadAll(Set<? extends Long> ids) {
+                        return fetchMissing(ids);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "catalog.prices");
+    }
+
+    // Return the purchase data of the given products, calling the catalog only for the missing ones
+    public List<ProductDTO> fetchPurchaseProducts(List<Long> ids) {
+        // Entries loaded by this call are fresh, only the ones already cached need verification
+        Map<Long, ProductDTO> cached = verify ? cache.getAllPresent(ids) : Map.of();
+        Map<Long, ProductDTO> products = new LinkedHashMap<>(cache.getAll(ids));
+        if (!cached.isEmpty()) {
+            verifyCached(cached.values(), products);
+        }
+        return new ArrayList<>(products.values());
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    // Replace the cached entries whose price changed and drop the ones removed from the catalog
+    private void verifyCached(Collection<ProductDTO> cached, Map<Long, ProductDTO> products) {
+        List<PurchaseVersion> versions = cached.stream()
+                .map(product -> new PurchaseVersion(product.getId(), product.getPriceVersion()))
+                .collect(Collectors.toList());
+        PurchaseVerification verification = productService.verifyPurchaseProducts(versions);
+        if (verification == null) {
+            return;
+        }
+        if (verification.getChanged() != null) {
+            for (ProductDTO product : verification.getChanged()) {
+                logger.debug("Cached price of product {} is stale", product.getId());
+                cache.put(product.getId(), product);
+                products.put(product.getId(), product);
+            }
+        }
+        if (verification.getMissing() != null) {
+            cache.invalidateAll(verification.getMissing());
+            verification.getMissing().forEach(products::remove);
+        }
+    }
+
+    // Unknown ids are left out of the result so they are not cached
+    private Map<Long, ProductDTO> fetchMissing(Set<? extends Long> ids) {
+        logger.debug("Loading {} products from the catalog", ids.size());
+        long[] missing = ids.stream().mapToLong(Long::longValue).toArray();
+        return productService.fetchPurchaseProducts(missing).stream()
+                .collect(Collectors.toMap(ProductDTO::getId, Function.identity(), (first, second) -> second));
+    }
+
+}
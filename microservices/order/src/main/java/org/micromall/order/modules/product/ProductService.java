@@ -5,7 +5,8 @@ import java.util.List;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 @FeignClient(name = "catalog-service")
 public interface ProductService {
@@ -13,6 +14,11 @@ public interface ProductService {
     @GetMapping("/api/v1/product/{id}")
     ProductDTO fetchById(@PathVariable Long id);
 
-    @GetMapping("/api/v1/products/purchase")
-    List<ProductDTO> fetchPurchaseProducts(@RequestParam List<Long> ids);
+    // The ids are sent as a JSON array body, the catalog reads them in bounded batches
+    @PostMapping("/api/v1/products/purchase")
+    List<ProductDTO> fetchPurchaseProducts(@RequestBody long[] ids);
+
+    // Report which of the given price versions are no longer current
+    @PostMapping("/api/v1/products/purchase/verify")
+    PurchaseVerification verifyPurchaseProducts(@RequestBody List<PurchaseVersion> versions);
 }
@@ -0,0 +1,92 @@
+package org.micromall.order.modules.product;
+
+import java.util.List;
+
+import org.micromall.order.exception.MyNotFoundException;
+
+/**
+ * Immutable id-keyed view over the products returned by the catalog for one
+ * order. Built once per order and backed by an open-addressing table with
+ * primitive {@code long} keys, so each lookup is O(1) and does not box the id.
+ */
+public final class ProductSnapshot {
+
+    private final long[] keys;
+    private final ProductDTO[] values;
+    private final int mask;
+    private final int size;
+
+    private ProductSnapshot(long[] keys, ProductDTO[] values, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.mask = keys.length - 1;
+        this.size = size;
+    }
+
+    // Build the snapshot from the products returned by the catalog
+    public static ProductSnapshot of(List<ProductDTO> products) {
+        // Keep the load factor at or below 0.5 so probe chains stay short
+        int capacity = Integer.highestOneBit(Math.max(2, products.size() * 2 - 1)) << 1;
+        long[] keys = new long[capacity];
+        ProductDTO[] values = new ProductDTO[capacity];
+        int mask = capacity - 1;
+        int size = 0;
+
+        for (ProductDTO product : products) {
+            if (product == null || product.getId() == null) {
+                continue;
+            }
+            long key = product.getId();
+            int slot = hash(key) & mask;
+            while (values[slot] != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (values[slot] == null) {
+                size++;
+            }
+            keys[slot] = key;
+            values[slot] = product;
+        }
+        return new ProductSnapshot(keys, values, size);
+    }
+
+    // Return the product with the given id, or null when the catalog did not return it
+    public ProductDTO get(long productId) {
+        int slot = hash(productId) & mask;
+        ProductDTO value;
+        while ((value = values[slot]) != null) {
+            if (keys[slot] == productId) {
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    // Return the product with the given id or throw when it is missing
+    public ProductDTO require(long productId) throws MyNotFoundException {
+        ProductDTO product = get(productId);
+        if (product == null) {
+            throw new MyNotFoundException("Product not found");
+        }
+        return product;
+    }
+
+    public boolean contains(long productId) {
+        return get(productId) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Fibonacci hashing spreads sequential database ids across the table
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
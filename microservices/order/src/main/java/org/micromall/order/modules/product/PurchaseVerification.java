@@ -0,0 +1,18 @@
+package org.micromall.order.modules.product;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Cached products whose price changed, with their current data, and products removed from the catalog
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PurchaseVerification {
+    private List<ProductDTO> changed;
+    private List<Long> missing;
+}
@@ -0,0 +1,16 @@
+package org.micromall.order.modules.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Price version of a cached product sent to the catalog for verification
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PurchaseVersion {
+    private Long id;
+    private Long priceVersion;
+}
@@ -15,8 +15,10 @@ import lombok.experimental.SuperBuilder;
 @MappedSuperclass
 public abstract class MyEntity implements Serializable {
 
+    // Pooled sequence per entity (<entity>_seq, increment 50) so Hibernate can
+    // assign ids without a round trip per row and batch the inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     protected Long id;
 
     protected LocalDateTime createdAt;
@@ -0,0 +1,78 @@
+package org.micromall.order.utils;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Exact monetary amount held as a {@code long} number of minor units (scale
+ * 2, i.e. cents). Sums and products are integer arithmetic that fails on
+ * overflow instead of wrapping, and no {@link BigDecimal} is allocated except
+ * at the JSON and database boundaries. In JSON it is a plain decimal number
+ * such as {@code 19.99}.
+ */
+public record MyMoney(long minorUnits) implements Comparable<MyMoney>, Serializable {
+
+    public static final int SCALE = 2;
+    public static final MyMoney ZERO = new MyMoney(0);
+
+    public static MyMoney ofMinor(long minorUnits) {
+        return new MyMoney(minorUnits);
+    }
+
+    // Amounts with more than two decimals or out of the long range are rejected, never rounded
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static MyMoney of(BigDecimal amount) throws IllegalArgumentException {
+        if (amount == null) {
+            return null;
+        }
+        try {
+            return new MyMoney(amount.movePointRight(SCALE).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid amount " + amount.toPlainString(), e);
+        }
+    }
+
+    // Legacy floating point amounts, rounded half-even to the nearest minor unit
+    public static MyMoney rounded(BigDecimal amount) throws IllegalArgumentException {
+        return amount == null ? null : of(amount.setScale(SCALE, RoundingMode.HALF_EVEN));
+    }
+
+    public static MyMoney parse(String amount) throws IllegalArgumentException {
+        return amount == null ? null : of(new BigDecimal(amount.trim()));
+    }
+
+    public MyMoney plus(MyMoney other) {
+        return new MyMoney(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public MyMoney times(long quantity) {
+        return new MyMoney(Math.multiplyExact(minorUnits, quantity));
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(MyMoney other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
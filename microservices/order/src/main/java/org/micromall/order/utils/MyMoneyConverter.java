@@ -0,0 +1,21 @@
+package org.micromall.order.utils;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Stores every MyMoney attribute as an exact numeric(19, 2) column
+@Converter(autoApply = true)
+public class MyMoneyConverter implements AttributeConverter<MyMoney, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(MyMoney attribute) {
+        return attribute == null ? null : attribute.toBigDecimal();
+    }
+
+    @Override
+    public MyMoney convertToEntityAttribute(BigDecimal dbData) {
+        return MyMoney.of(dbData);
+    }
+}
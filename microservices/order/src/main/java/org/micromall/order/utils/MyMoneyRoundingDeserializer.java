@@ -0,0 +1,26 @@
+package org.micromall.order.utils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+// Reads amounts written before MyMoney, computed in floating point, rounded to the nearest minor unit
+public class MyMoneyRoundingDeserializer extends JsonDeserializer<MyMoney> {
+
+    @Override
+    public MyMoney deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            String text = parser.getText().trim();
+            try {
+                return text.isEmpty() ? null : MyMoney.rounded(new BigDecimal(text));
+            } catch (NumberFormatException e) {
+                return (MyMoney) context.handleWeirdStringValue(MyMoney.class, text, "not a decimal amount");
+            }
+        }
+        return MyMoney.rounded(parser.getDecimalValue());
+    }
+}
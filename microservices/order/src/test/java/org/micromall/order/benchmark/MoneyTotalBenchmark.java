@@ -0,0 +1,105 @@
+package org.micromall.order.benchmark;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.micromall.order.utils.MyMoney;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Cost of computing an order total (price times quantity per line, then the
+ * sum) with boxed doubles as previously done in {@code OrderService}, with
+ * {@link BigDecimal} and with {@link MyMoney} minor units. Run with
+ * {@code -prof gc} to compare the allocation rate as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyTotalBenchmark {
+
+    @Param({ "10", "1000" })
+    private int lines;
+
+    private int[] quantities;
+    private Double[] doublePrices;
+    private BigDecimal[] decimalPrices;
+    private MyMoney[] moneyPrices;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        quantities = new int[lines];
+        doublePrices = new Double[lines];
+        decimalPrices = new BigDecimal[lines];
+        moneyPrices = new MyMoney[lines];
+        for (int i = 0; i < lines; i++) {
+            long cents = random.nextLong(1, 100_000);
+            quantities[i] = random.nextInt(1, 10);
+            doublePrices[i] = cents / 100.0;
+            decimalPrices[i] = BigDecimal.valueOf(cents, 2);
+            moneyPrices[i] = MyMoney.ofMinor(cents);
+        }
+    }
+
+    @Benchmark
+    public Double doubleTotal() {
+        Double[] amounts = new Double[lines];
+        for (int i = 0; i < lines; i++) {
+            amounts[i] = quantities[i] * doublePrices[i];
+        }
+        double total = 0;
+        for (Double amount : amounts) {
+            total += amount;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalTotal() {
+        BigDecimal[] amounts = new BigDecimal[lines];
+        for (int i = 0; i < lines; i++) {
+            amounts[i] = decimalPrices[i].multiply(BigDecimal.valueOf(quantities[i]));
+        }
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public MyMoney moneyTotal() {
+        MyMoney[] amounts = new MyMoney[lines];
+        for (int i = 0; i < lines; i++) {
+            amounts[i] = moneyPrices[i].times(quantities[i]);
+        }
+        MyMoney total = MyMoney.ZERO;
+        for (MyMoney amount : amounts) {
+            total = total.plus(amount);
+        }
+        return total;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MoneyTotalBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,117 @@
+package org.micromall.order.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Load test of the NDJSON bulk endpoint: each invocation uploads
+ * {@code orders} orders to {@code POST /api/v1/orders/bulk} and reads the
+ * streamed results, the score is the time of the whole upload. The orders
+ * per second, with the created and failed counts, are printed after each
+ * upload. Needs a running order service with its customer and catalog
+ * services; settings come from {@code -Dbenchmark.order.url} (default
+ * {@code http://localhost:8080}), {@code -Dbenchmark.order.customer-ids}
+ * (comma separated existing customers), {@code -Dbenchmark.order.product-id}
+ * and {@code -Dbenchmark.order.product-price} (an existing product and its
+ * current price, so the amounts match).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class OrderBulkLoadBenchmark {
+
+    @Param({ "10000", "100000" })
+    private int orders;
+
+    // Items per order
+    @Param({ "3" })
+    private int items;
+
+    private HttpClient client;
+    private URI endpoint;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        String url = System.getProperty("benchmark.order.url", "http://localhost:8080");
+        String[] customerIds = System.getProperty("benchmark.order.customer-ids", "6718a3f2c9e77b1d2a4f5e60").split(",");
+        long productId = Long.getLong("benchmark.order.product-id", 1L);
+        BigDecimal price = new BigDecimal(System.getProperty("benchmark.order.product-price", "19.99"));
+
+        client = HttpClient.newHttpClient();
+        endpoint = URI.create(url + "/api/v1/orders/bulk");
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream(orders * 120);
+        for (int i = 0; i < orders; i++) {
+            // Vary the quantity so the orders are not all the same
+            int quantity = 1 + i % 5;
+            String line = String.format("{\"customerId\":\"%s\",\"amount\":%s,\"products\":[%s]}%n",
+                    customerIds[i % customerIds.length].trim(),
+                    price.multiply(BigDecimal.valueOf((long) quantity * items)).toPlainString(),
+                    String.join(",", Stream.generate(() -> "{\"productId\":" + productId + ",\"quantity\":" + quantity + "}")
+                            .limit(items)
+                            .toList()));
+            ndjson.writeBytes(line.getBytes(StandardCharsets.UTF_8));
+        }
+        body = ndjson.toByteArray();
+    }
+
+    @Benchmark
+    public long upload() throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<Stream<String>> response = client.send(HttpRequest.newBuilder(endpoint)
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build(), HttpResponse.BodyHandlers.ofLines());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Bulk upload answered " + response.statusCode());
+        }
+        long created = 0;
+        long failed = 0;
+        try (Stream<String> lines = response.body()) {
+            for (Iterator<String> results = lines.iterator(); results.hasNext();) {
+                if (results.next().contains("\"CREATED\"")) {
+                    created++;
+                } else {
+                    failed++;
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%norders=%d created=%d failed=%d orders/sec=%.0f%n",
+                orders, created, failed, orders / seconds);
+        return created;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderBulkLoadBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,114 @@
+package org.micromall.order.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.micromall.order.kafka.OrderConfirmation;
+import org.micromall.order.kafka.OrderConfirmationItem;
+import org.micromall.order.kafka.serialization.OrderConfirmationBinaryDeserializer;
+import org.micromall.order.kafka.serialization.OrderConfirmationBinarySerializer;
+import org.micromall.order.utils.MyMoney;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Serialize/deserialize cost of an order confirmation in the JSON and the
+ * binary formats. The payload size of each format is printed by {@link #main}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderConfirmationSerializationBenchmark {
+
+    private static final String TOPIC = "order-topic";
+
+    @Param({ "1", "10", "100" })
+    private int items;
+
+    private OrderConfirmation confirmation;
+    private JsonSerializer<OrderConfirmation> jsonSerializer;
+    private JsonDeserializer<OrderConfirmation> jsonDeserializer;
+    private OrderConfirmationBinarySerializer binarySerializer;
+    private OrderConfirmationBinaryDeserializer binaryDeserializer;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() {
+        confirmation = confirmation(items);
+        jsonSerializer = new JsonSerializer<>();
+        jsonSerializer.setAddTypeInfo(false);
+        jsonDeserializer = new JsonDeserializer<>(OrderConfirmation.class, false);
+        binarySerializer = new OrderConfirmationBinarySerializer();
+        binaryDeserializer = new OrderConfirmationBinaryDeserializer();
+        json = jsonSerializer.serialize(TOPIC, confirmation);
+        binary = binarySerializer.serialize(TOPIC, confirmation);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return jsonSerializer.serialize(TOPIC, confirmation);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return binarySerializer.serialize(TOPIC, confirmation);
+    }
+
+    @Benchmark
+    public OrderConfirmation deserializeJson() {
+        return jsonDeserializer.deserialize(TOPIC, json);
+    }
+
+    @Benchmark
+    public OrderConfirmation deserializeBinary() {
+        return binaryDeserializer.deserialize(TOPIC, binary);
+    }
+
+    static OrderConfirmation confirmation(int items) {
+        List<OrderConfirmationItem> lines = new ArrayList<>(items);
+        for (long id = 1; id <= items; id++) {
+            lines.add(OrderConfirmationItem.builder().productId(1_000 + id).quantity(3).price(MyMoney.parse("19.99")).build());
+        }
+        return OrderConfirmation.builder()
+                .orderId(123_456L)
+                .status("PENDING")
+                .amount(MyMoney.parse("59.97").times(items))
+                .customerId("6718a3f2c9e77b1d2a4f5e60")
+                .items(lines)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        JsonSerializer<OrderConfirmation> jsonSerializer = new JsonSerializer<>();
+        jsonSerializer.setAddTypeInfo(false);
+        OrderConfirmationBinarySerializer binarySerializer = new OrderConfirmationBinarySerializer();
+        for (int items : new int[] { 1, 10, 100 }) {
+            OrderConfirmation confirmation = confirmation(items);
+            System.out.printf("items=%d json=%d bytes/event binary=%d bytes/event%n", items,
+                    jsonSerializer.serialize(TOPIC, confirmation).length,
+                    binarySerializer.serialize(TOPIC, confirmation).length);
+        }
+        new Runner(new OptionsBuilder()
+                .include(OrderConfirmationSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,203 @@
+package org.micromall.order.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Orders per second written in one transaction each, with {@code items}
+ * lines per order. {@code identity} replays the statements Hibernate issued
+ * with IDENTITY ids: one insert returning the key per order and per item.
+ * {@code pooledSequence} replays the current mapping: ids taken from
+ * {@code <entity>_seq} 50 at a time, the order inserted, then its items in
+ * JDBC batches of 50 rewritten into multi-row statements by the driver. Needs
+ * a running Postgres; the tables live in a dedicated {@code insert_benchmark}
+ * schema. Connection settings come from {@code -Dbenchmark.jdbc.url},
+ * {@code -Dbenchmark.jdbc.user} and {@code -Dbenchmark.jdbc.password}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderInsertBenchmark {
+
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int BATCH_SIZE = 50;
+
+    @Param({ "1", "10", "100" })
+    private int items;
+
+    private Connection connection;
+    private PreparedStatement identityOrder;
+    private PreparedStatement identityItem;
+    private PreparedStatement sequenceOrder;
+    private PreparedStatement sequenceItem;
+    private PreparedStatement nextOrderIds;
+    private PreparedStatement nextItemIds;
+    private final IdPool orderIds = new IdPool();
+    private final IdPool itemIds = new IdPool();
+
+    @Setup
+    public void setUp() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", System.getProperty("benchmark.jdbc.user", "user"));
+        properties.setProperty("password", System.getProperty("benchmark.jdbc.password", "password"));
+        properties.setProperty("reWriteBatchedInserts", "true");
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/order_db"),
+                properties);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS insert_benchmark CASCADE");
+            statement.execute("CREATE SCHEMA insert_benchmark");
+            statement.execute("SET search_path TO insert_benchmark");
+            for (String prefix : new String[] { "identity_", "" }) {
+                String id = prefix.isEmpty() ? "bigint PRIMARY KEY" : "bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY";
+                statement.execute("CREATE TABLE " + prefix + "orders (id " + id + ", created_at timestamp(6), "
+                        + "updated_at timestamp(6), customer_id varchar(255), amount numeric(19, 2), status smallint)");
+                statement.execute("CREATE TABLE " + prefix + "items (id " + id + ", created_at timestamp(6), "
+                        + "updated_at timestamp(6), product_id bigint, quantity integer, item_amount numeric(19, 2), "
+                        + "price_version bigint, order_id bigint REFERENCES " + prefix + "orders)");
+                statement.execute("CREATE INDEX ON " + prefix + "items (order_id)");
+            }
+            statement.execute("CREATE SEQUENCE orders_seq INCREMENT BY " + ALLOCATION_SIZE);
+            statement.execute("CREATE SEQUENCE items_seq INCREMENT BY " + ALLOCATION_SIZE);
+        }
+        connection.setAutoCommit(false);
+
+        identityOrder = connection.prepareStatement("INSERT INTO identity_orders "
+                + "(created_at, updated_at, customer_id, amount, status) VALUES (?, ?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS);
+        identityItem = connection.prepareStatement("INSERT INTO identity_items "
+                + "(created_at, updated_at, product_id, quantity, item_amount, price_version, order_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+        sequenceOrder = connection.prepareStatement("INSERT INTO orders "
+                + "(created_at, updated_at, customer_id, amount, status, id) VALUES (?, ?, ?, ?, ?, ?)");
+        sequenceItem = connection.prepareStatement("INSERT INTO items "
+                + "(created_at, updated_at, product_id, quantity, item_amount, price_version, order_id, id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+        nextOrderIds = connection.prepareStatement("SELECT nextval('orders_seq')");
+        nextItemIds = connection.prepareStatement("SELECT nextval('items_seq')");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.rollback();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS insert_benchmark CASCADE");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void identity() throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        bindOrder(identityOrder, now);
+        identityOrder.executeUpdate();
+        long orderId = generatedKey(identityOrder);
+        for (int line = 0; line < items; line++) {
+            bindItem(identityItem, now, line, orderId);
+            identityItem.executeUpdate();
+            generatedKey(identityItem);
+        }
+        connection.commit();
+    }
+
+    @Benchmark
+    public void pooledSequence() throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long orderId = orderIds.next(nextOrderIds);
+        bindOrder(sequenceOrder, now);
+        sequenceOrder.setLong(6, orderId);
+        sequenceOrder.executeUpdate();
+        for (int line = 0; line < items; line++) {
+            bindItem(sequenceItem, now, line, orderId);
+            sequenceItem.setLong(8, itemIds.next(nextItemIds));
+            sequenceItem.addBatch();
+            if ((line + 1) % BATCH_SIZE == 0) {
+                sequenceItem.executeBatch();
+            }
+        }
+        if (items % BATCH_SIZE != 0) {
+            sequenceItem.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private static void bindOrder(PreparedStatement statement, Timestamp now) throws SQLException {
+        statement.setTimestamp(1, now);
+        statement.setTimestamp(2, now);
+        statement.setString(3, "6718d4c2a1b2c3d4e5f60718");
+        statement.setBigDecimal(4, new BigDecimal("199.80"));
+        statement.setInt(5, 0);
+    }
+
+    private static void bindItem(PreparedStatement statement, Timestamp now, int line, long orderId)
+            throws SQLException {
+        statement.setTimestamp(1, now);
+        statement.setTimestamp(2, now);
+        statement.setLong(3, 1 + line);
+        statement.setInt(4, 2);
+        statement.setBigDecimal(5, new BigDecimal("19.98"));
+        statement.setLong(6, 1);
+        statement.setLong(7, orderId);
+    }
+
+    private static long generatedKey(PreparedStatement statement) throws SQLException {
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            keys.next();
+            return keys.getLong(1);
+        }
+    }
+
+    // Hands out ALLOCATION_SIZE ids per sequence value like Hibernate's pooled optimizer
+    private static final class IdPool {
+
+        private long next;
+        private long end;
+
+        long next(PreparedStatement nextval) throws SQLException {
+            if (next == end) {
+                try (ResultSet result = nextval.executeQuery()) {
+                    result.next();
+                    next = result.getLong(1);
+                }
+                end = next + ALLOCATION_SIZE;
+            }
+            return next++;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
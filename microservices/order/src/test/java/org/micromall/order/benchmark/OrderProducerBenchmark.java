@@ -0,0 +1,148 @@
+package org.micromall.order.benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.micromall.order.kafka.OrderConfirmation;
+import org.micromall.order.kafka.serialization.OrderConfirmationBinarySerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Order confirmation events per second sent to a broker, in bursts of 1000
+ * acknowledged events, for the previous and the current producer profiles of
+ * the order topic. {@code previous} sends unkeyed records with the client
+ * defaults (no compression, 16 KB batches, no linger); {@code lz4} and
+ * {@code zstd} key by customer with idempotence, {@code acks=all}, 64 KB
+ * batches and a 10 ms linger as {@code KafkaOrderProducerConfig} does. The
+ * bytes sent per event, taken from the producer's {@code outgoing-byte-total}
+ * metric, are printed after each trial. Needs a running broker set with
+ * {@code -Dbenchmark.kafka.bootstrap-servers} (default
+ * {@code localhost:9092}); the events go to a dedicated
+ * {@code order-producer-benchmark} topic of 6 partitions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderProducerBenchmark {
+
+    private static final String TOPIC = "order-producer-benchmark";
+    private static final int BURST = 1000;
+    private static final int CUSTOMERS = 1000;
+
+    @Param({ "previous", "lz4", "zstd" })
+    private String profile;
+
+    @Param({ "1", "10" })
+    private int items;
+
+    private String bootstrapServers;
+    private KafkaProducer<String, OrderConfirmation> producer;
+    private OrderConfirmation[] confirmations;
+    private long sent;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ExecutionException, InterruptedException {
+        bootstrapServers = System.getProperty("benchmark.kafka.bootstrap-servers", "localhost:9092");
+        try (Admin admin = Admin.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers))) {
+            if (!admin.listTopics().names().get().contains(TOPIC)) {
+                admin.createTopics(List.of(new NewTopic(TOPIC, 6, (short) 1))).all().get();
+            }
+        }
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        if (!"previous".equals(profile)) {
+            properties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+            properties.put(ProducerConfig.ACKS_CONFIG, "all");
+            properties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, profile);
+            properties.put(ProducerConfig.BATCH_SIZE_CONFIG, 65536);
+            properties.put(ProducerConfig.LINGER_MS_CONFIG, 10);
+        }
+        producer = new KafkaProducer<>(properties, new StringSerializer(), new OrderConfirmationBinarySerializer());
+
+        // Same events as the serialization benchmark, spread over many customers
+        confirmations = new OrderConfirmation[CUSTOMERS];
+        OrderConfirmation template = OrderConfirmationSerializationBenchmark.confirmation(items);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            confirmations[i] = OrderConfirmation.builder()
+                    .orderId(template.orderId() + i)
+                    .status(template.status())
+                    .amount(template.amount())
+                    .customerId(String.format("6718a3f2c9e77b1d2a%06d", i))
+                    .items(template.items())
+                    .build();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        double bytes = metric("producer-metrics", "outgoing-byte-total");
+        System.out.printf("%nprofile=%s items=%d events=%d bytes/event=%.1f compression-rate=%.3f%n",
+                profile, items, sent, sent == 0 ? 0 : bytes / sent,
+                metric("producer-metrics", "compression-rate-avg"));
+        producer.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void sendBurst() throws ExecutionException, InterruptedException {
+        boolean keyed = !"previous".equals(profile);
+        Future<?>[] acks = new Future<?>[BURST];
+        for (int i = 0; i < BURST; i++) {
+            OrderConfirmation confirmation = confirmations[(int) (sent++ % CUSTOMERS)];
+            acks[i] = producer.send(new ProducerRecord<>(TOPIC, keyed ? confirmation.customerId() : null,
+                    confirmation));
+        }
+        for (Future<?> ack : acks) {
+            ack.get();
+        }
+    }
+
+    private double metric(String group, String name) {
+        for (Map.Entry<MetricName, ? extends Metric> entry : producer.metrics().entrySet()) {
+            if (entry.getKey().group().equals(group) && entry.getKey().name().equals(name)
+                    && entry.getValue().metricValue() instanceof Double value) {
+                return value;
+            }
+        }
+        return Double.NaN;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderProducerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,89 @@
+package org.micromall.order.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.micromall.order.exception.MyNotFoundException;
+import org.micromall.order.modules.product.ProductDTO;
+import org.micromall.order.modules.product.ProductSnapshot;
+import org.micromall.order.modules.product.PurchaseRequest;
+import org.micromall.order.utils.MyMoney;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the per-line linear product scan previously done in
+ * {@code OrderService.create} with the {@link ProductSnapshot} lookup.
+ * Both variants run the two passes made per order (items and item DTOs).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductLookupBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int lines;
+
+    private List<ProductDTO> products;
+    private List<PurchaseRequest> purchases;
+
+    @Setup
+    public void setUp() {
+        products = new ArrayList<>(lines);
+        purchases = new ArrayList<>(lines);
+        for (long id = 1; id <= lines; id++) {
+            products.add(ProductDTO.builder().id(id).title("Product " + id).price(MyMoney.parse("9.99")).build());
+        }
+        // Purchase the products in reverse order so the scan cannot stop early
+        for (long id = lines; id >= 1; id--) {
+            purchases.add(new PurchaseRequest(id, 2));
+        }
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole blackhole) {
+        for (int pass = 0; pass < 2; pass++) {
+            for (PurchaseRequest purchase : purchases) {
+                ProductDTO product = products.stream()
+                        .filter(p -> p.getId().equals(purchase.productId()))
+                        .findFirst()
+                        .orElseThrow(() -> new MyNotFoundException("Product not found"));
+                blackhole.consume(product.getPrice().times(purchase.quantity()));
+            }
+        }
+    }
+
+    @Benchmark
+    public void snapshot(Blackhole blackhole) {
+        ProductSnapshot snapshot = ProductSnapshot.of(products);
+        for (int pass = 0; pass < 2; pass++) {
+            for (PurchaseRequest purchase : purchases) {
+                ProductDTO product = snapshot.require(purchase.productId());
+                blackhole.consume(product.getPrice().times(purchase.quantity()));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductLookupBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
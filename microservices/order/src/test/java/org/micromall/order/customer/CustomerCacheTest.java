@@ -0,0 +1,64 @@
+package org.micromall.order.customer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.micromall.order.modules.customer.CustomerCache;
+import org.micromall.order.modules.customer.CustomerDTO;
+import org.micromall.order.modules.customer.CustomerService;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerCacheTest {
+
+    @Mock
+    private CustomerService customerService;
+
+    private CustomerCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CustomerCache(customerService, new SimpleMeterRegistry(), 1000, Duration.ofMinutes(30),
+                Duration.ofMinutes(5), Duration.ofSeconds(30), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void missingIdsAreFetchedInBatchesOfAtMostTheServerLimit() {
+        List<Integer> batchSizes = new ArrayList<>();
+        when(customerService.findAllById(any())).thenAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(0);
+            batchSizes.add(ids.size());
+            Map<String, CustomerDTO> found = new HashMap<>();
+            ids.stream().filter(id -> !id.equals("c5")).forEach(id -> found.put(id, CustomerDTO.builder().id(id).build()));
+            return found;
+        });
+
+        Map<String, CustomerDTO> customers = cache.findAllById(List.of("c1", "c2", "c3", "c4", "c5"));
+
+        assertThat(batchSizes).containsExactlyInAnyOrder(2, 2, 1);
+        assertThat(customers).containsOnlyKeys("c1", "c2", "c3", "c4");
+        // The unknown id is cached as absent with the others
+        assertThat(cache.findAllById(List.of("c1", "c5"))).containsOnlyKeys("c1");
+        verify(customerService, times(3)).findAllById(any());
+    }
+}
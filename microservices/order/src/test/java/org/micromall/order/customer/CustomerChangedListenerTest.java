@@ -0,0 +1,42 @@
+package org.micromall.order.customer;
+
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.micromall.order.modules.customer.CustomerCache;
+import org.micromall.order.modules.customer.CustomerChangedEvent;
+import org.micromall.order.modules.customer.CustomerChangedListener;
+import org.micromall.order.modules.customer.CustomerDTO;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerChangedListenerTest {
+
+    @Mock
+    private CustomerCache customerCache;
+
+    @InjectMocks
+    private CustomerChangedListener listener;
+
+    @Test
+    void updatesChangedCustomersAndInvalidatesDeletedOnes() {
+        CustomerDTO ann = CustomerDTO.builder().id("c1").firstName("Ann").build();
+
+        listener.onCustomersChanged(Arrays.asList(
+                new CustomerChangedEvent("c1", false, ann),
+                new CustomerChangedEvent("c2", true, null),
+                new CustomerChangedEvent("c3", false, null),
+                new CustomerChangedEvent(null, false, ann),
+                null));
+
+        verify(customerCache).update("c1", ann);
+        verify(customerCache).invalidate("c2");
+        verify(customerCache).invalidate("c3");
+        verifyNoMoreInteractions(customerCache);
+    }
+}
@@ -0,0 +1,79 @@
+package org.micromall.order.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.micromall.order.kafka.serialization.OrderConfirmationCodec;
+import org.micromall.order.utils.MyMoney;
+
+class OrderConfirmationCodecTest {
+
+    @Test
+    void roundTripKeepsEveryField() {
+        OrderConfirmation confirmation = OrderConfirmation.builder()
+                .orderId(42L)
+                .status("PENDING")
+                .amount(MyMoney.parse("59.97"))
+                .customerId("6718a3f2c9e77b1d2a4f5e60")
+                .items(List.of(
+                        OrderConfirmationItem.builder().productId(1L).quantity(3).price(MyMoney.parse("19.99")).build(),
+                        OrderConfirmationItem.builder().productId(Long.MAX_VALUE).quantity(1).build()))
+                .build();
+
+        OrderConfirmation decoded = OrderConfirmationCodec.decode(OrderConfirmationCodec.encode(confirmation));
+
+        assertThat(decoded).isEqualTo(confirmation);
+    }
+
+    @Test
+    void roundTripKeepsNullFields() {
+        OrderConfirmation confirmation = OrderConfirmation.builder().orderId(7L).build();
+
+        OrderConfirmation decoded = OrderConfirmationCodec.decode(OrderConfirmationCodec.encode(confirmation));
+
+        assertThat(decoded).isEqualTo(confirmation);
+    }
+
+    @Test
+    void decodeReadsVersion1DoubleAmounts() {
+        ByteBuffer payload = ByteBuffer.allocate(11);
+        payload.put(OrderConfirmationCodec.MAGIC).put((byte) 1);
+        // Presence bitmap with the amount only, as a zig-zag varint
+        payload.put((byte) (1 << 3));
+        payload.putDouble(0.1 + 0.2);
+
+        OrderConfirmation decoded = OrderConfirmationCodec.decode(payload.array());
+
+        assertThat(decoded.amount()).isEqualTo(MyMoney.parse("0.30"));
+    }
+
+    @Test
+    void decodeRejectsUnknownVersionAndTruncatedPayloads() {
+        byte[] payload = OrderConfirmationCodec.encode(OrderConfirmation.builder()
+                .orderId(7L)
+                .status("PENDING")
+                .build());
+
+        byte[] unknownVersion = payload.clone();
+        unknownVersion[1] = 99;
+        assertThrows(SerializationException.class, () -> OrderConfirmationCodec.decode(unknownVersion));
+        assertThrows(SerializationException.class,
+                () -> OrderConfirmationCodec.decode(Arrays.copyOf(payload, payload.length - 2)));
+    }
+
+    @Test
+    void decodeRejectsNegativeAndOversizedItemCounts() {
+        // Presence bitmap with the items only, then the item count, both as zig-zag varints
+        byte[] negative = { OrderConfirmationCodec.MAGIC, 2, 0x20, 0x01 };
+        byte[] oversized = { OrderConfirmationCodec.MAGIC, 2, 0x20, (byte) 0xFE, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F };
+
+        assertThrows(SerializationException.class, () -> OrderConfirmationCodec.decode(negative));
+        assertThrows(SerializationException.class, () -> OrderConfirmationCodec.decode(oversized));
+    }
+}
@@ -0,0 +1,88 @@
+package org.micromall.order.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.micromall.order.kafka.outbox.OrderOutbox;
+import org.micromall.order.kafka.outbox.OrderOutboxRelay;
+import org.micromall.order.kafka.outbox.OrderOutboxRepository;
+import org.micromall.order.utils.MyMoney;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class OrderOutboxRelayTest {
+
+    @Mock
+    private OrderOutboxRepository outboxRepository;
+
+    @Mock
+    private OrderProducer orderProducer;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OrderOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OrderOutboxRelay(outboxRepository, orderProducer, new ObjectMapper(), transactionTemplate);
+        ReflectionTestUtils.setField(relay, "batchSize", 500);
+        ReflectionTestUtils.setField(relay, "sendTimeout", Duration.ofSeconds(1));
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void unreadableRowIsMarkedFailedAndTheRestIsRelayed() {
+        OrderOutbox unreadable = OrderOutbox.builder().id(1L).orderId(10L).payload("{not json").build();
+        OrderOutbox readable = OrderOutbox.builder().id(2L).orderId(11L)
+                .payload("{\"orderId\":11,\"status\":\"PENDING\",\"amount\":19.99}").build();
+        when(outboxRepository.lockNextBatch(500)).thenReturn(List.of(unreadable, readable));
+        when(orderProducer.sendOrderConfirmation(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        ArgumentCaptor<OrderConfirmation> sent = ArgumentCaptor.forClass(OrderConfirmation.class);
+        verify(orderProducer).sendOrderConfirmation(sent.capture());
+        assertThat(sent.getValue().orderId()).isEqualTo(11L);
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(2L));
+        assertThat(unreadable.getFailedAt()).isNotNull();
+        assertThat(unreadable.getError()).isNotBlank();
+        assertThat(readable.getFailedAt()).isNull();
+    }
+
+    @Test
+    void legacyFloatingPointAmountsAreRoundedAndRelayed() {
+        OrderOutbox legacy = OrderOutbox.builder().id(3L).orderId(12L)
+                .payload("{\"orderId\":12,\"amount\":59.970000000000006,"
+                        + "\"items\":[{\"productId\":1,\"quantity\":3,\"price\":19.990000000000002}]}")
+                .build();
+        when(outboxRepository.lockNextBatch(500)).thenReturn(List.of(legacy));
+        when(orderProducer.sendOrderConfirmation(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        ArgumentCaptor<OrderConfirmation> sent = ArgumentCaptor.forClass(OrderConfirmation.class);
+        verify(orderProducer).sendOrderConfirmation(sent.capture());
+        assertThat(sent.getValue().amount()).isEqualTo(MyMoney.parse("59.97"));
+        assertThat(sent.getValue().items().get(0).price()).isEqualTo(MyMoney.parse("19.99"));
+        assertThat(legacy.getFailedAt()).isNull();
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(3L));
+    }
+
+}
@@ -0,0 +1,109 @@
+package org.micromall.order.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.micromall.order.modules.customer.CustomerCache;
+import org.micromall.order.modules.customer.CustomerDTO;
+import org.micromall.order.modules.order.OrderBulkResult;
+import org.micromall.order.modules.order.OrderBulkService;
+import org.micromall.order.modules.order.OrderDTO;
+import org.micromall.order.modules.order.OrderRequest;
+import org.micromall.order.modules.order.OrderService;
+import org.micromall.order.modules.product.ProductDTO;
+import org.micromall.order.modules.product.ProductPriceCache;
+import org.micromall.order.utils.MyMoney;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBulkServiceTest {
+
+    private static final MyMoney REJECTED_AMOUNT = MyMoney.parse("10.00");
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private CustomerCache customerCache;
+
+    @Mock
+    private ProductPriceCache productPriceCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OrderBulkService bulkService;
+
+    @BeforeEach
+    void setUp() {
+        bulkService = new OrderBulkService(orderService, customerCache, productPriceCache, transactionTemplate,
+                objectMapper, Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(bulkService, "chunkSize", 500);
+    }
+
+    @Test
+    void nullLineAndRejectedOrderFailAloneWhileTheOthersAreCreated() throws Exception {
+        when(customerCache.findAllById(any())).thenReturn(Map.of("c1", CustomerDTO.builder().id("c1").build()));
+        when(productPriceCache.fetchPurchaseProducts(List.of(1L))).thenReturn(List.of(
+                ProductDTO.builder().id(1L).title("Book").price(MyMoney.parse("10.00")).priceVersion(1L).build()));
+        when(orderService.totalOf(any(), any())).thenAnswer(invocation -> invocation.<OrderRequest>getArgument(0).amount());
+        AtomicLong nextId = new AtomicLong(100);
+        when(orderService.placeOrder(any(), any(), any())).thenAnswer(invocation -> {
+            OrderRequest request = invocation.getArgument(0);
+            if (request.amount().equals(REJECTED_AMOUNT)) {
+                throw new DataIntegrityViolationException("order rejected by the database");
+            }
+            return OrderDTO.builder().id(nextId.incrementAndGet()).amount(request.amount()).build();
+        });
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        String ndjson = """
+                {"customerId":"c1","amount":20.00,"products":[{"productId":1,"quantity":2}]}
+                null
+                {"customerId":"c1","amount":10.00,"products":[{"productId":1,"quantity":1}]}
+                {"customerId":"c1","amount":30.00,"products":[{"productId":1,"quantity":3}]}
+                """;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        bulkService.createAll(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), output);
+
+        List<OrderBulkResult> results = objectMapper.readerFor(OrderBulkResult.class)
+                .<OrderBulkResult>readValues(output.toByteArray())
+                .readAll();
+        assertThat(results)
+                .extracting(OrderBulkResult::line, OrderBulkResult::status, OrderBulkResult::error)
+                .containsExactly(
+                        tuple(1L, OrderBulkResult.CREATED, null),
+                        tuple(2L, OrderBulkResult.FAILED, "Malformed order"),
+                        tuple(3L, OrderBulkResult.FAILED, "Order not saved try again"),
+                        tuple(4L, OrderBulkResult.CREATED, null));
+        // The chunk stops at line 3, then each line is placed again on its own
+        verify(orderService, times(5)).placeOrder(any(), any(), any());
+    }
+}
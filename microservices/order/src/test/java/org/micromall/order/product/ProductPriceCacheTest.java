@@ -0,0 +1,82 @@
+package org.micromall.order.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.micromall.order.modules.product.ProductDTO;
+import org.micromall.order.modules.product.ProductPriceCache;
+import org.micromall.order.modules.product.ProductService;
+import org.micromall.order.modules.product.PurchaseVerification;
+import org.micromall.order.modules.product.PurchaseVersion;
+import org.micromall.order.utils.MyMoney;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ProductPriceCacheTest {
+
+    private static final ProductDTO BOOK = product(1L, "10.00", 1L);
+
+    @Mock
+    private ProductService productService;
+
+    private ProductPriceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductPriceCache(productService, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10), true);
+        when(productService.fetchPurchaseProducts(any())).thenReturn(List.of(BOOK));
+        // Warm the cache, loaded entries are not verified
+        assertThat(cache.fetchPurchaseProducts(List.of(1L))).containsExactly(BOOK);
+        verify(productService, never()).verifyPurchaseProducts(any());
+    }
+
+    @Test
+    void freshEntryIsServedFromTheCache() {
+        when(productService.verifyPurchaseProducts(List.of(new PurchaseVersion(1L, 1L))))
+                .thenReturn(new PurchaseVerification(List.of(), List.of()));
+
+        assertThat(cache.fetchPurchaseProducts(List.of(1L))).containsExactly(BOOK);
+        verify(productService, times(1)).fetchPurchaseProducts(any());
+    }
+
+    @Test
+    void changedPriceReplacesTheCachedEntry() {
+        ProductDTO repriced = product(1L, "12.00", 2L);
+        when(productService.verifyPurchaseProducts(List.of(new PurchaseVersion(1L, 1L))))
+                .thenReturn(new PurchaseVerification(List.of(repriced), List.of()));
+
+        assertThat(cache.fetchPurchaseProducts(List.of(1L))).containsExactly(repriced);
+
+        when(productService.verifyPurchaseProducts(List.of(new PurchaseVersion(1L, 2L))))
+                .thenReturn(new PurchaseVerification(List.of(), List.of()));
+        assertThat(cache.fetchPurchaseProducts(List.of(1L))).containsExactly(repriced);
+        verify(productService, times(1)).fetchPurchaseProducts(any());
+    }
+
+    @Test
+    void missingProductIsDroppedFromTheCache() {
+        when(productService.verifyPurchaseProducts(List.of(new PurchaseVersion(1L, 1L))))
+                .thenReturn(new PurchaseVerification(List.of(), List.of(1L)));
+
+        assertThat(cache.fetchPurchaseProducts(List.of(1L))).isEmpty();
+
+        // Not cached anymore, so the next call goes back to the catalog
+        when(productService.fetchPurchaseProducts(any())).thenReturn(List.of());
+        assertThat(cache.fetchPurchaseProducts(List.of(1L))).isEmpty();
+        verify(productService, times(2)).fetchPurchaseProducts(any());
+    }
+
+    private static ProductDTO product(Long id, String price, Long priceVersion) {
+        return ProductDTO.builder().id(id).title("Book").price(MyMoney.parse(price)).priceVersion(priceVersion).build();
+    }
+}
@@ -0,0 +1,51 @@
+package org.micromall.order.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.micromall.order.exception.MyNotFoundException;
+import org.micromall.order.modules.product.ProductDTO;
+import org.micromall.order.modules.product.ProductSnapshot;
+import org.micromall.order.utils.MyMoney;
+
+class ProductSnapshotTest {
+
+    @Test
+    void getReturnsEveryIndexedProduct() {
+        List<ProductDTO> products = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            products.add(ProductDTO.builder().id(id * 64).title("Product " + id).price(MyMoney.ofMinor(100)).build());
+        }
+
+        ProductSnapshot snapshot = ProductSnapshot.of(products);
+
+        assertThat(snapshot.size()).isEqualTo(1000);
+        for (ProductDTO product : products) {
+            assertThat(snapshot.get(product.getId())).isSameAs(product);
+        }
+        assertThat(snapshot.get(65L)).isNull();
+    }
+
+    @Test
+    void duplicatedIdsKeepTheLastProduct() {
+        ProductDTO first = ProductDTO.builder().id(7L).title("First").build();
+        ProductDTO second = ProductDTO.builder().id(7L).title("Second").build();
+
+        ProductSnapshot snapshot = ProductSnapshot.of(List.of(first, second));
+
+        assertThat(snapshot.size()).isEqualTo(1);
+        assertThat(snapshot.get(7L)).isSameAs(second);
+    }
+
+    @Test
+    void requireThrowsWhenProductIsMissing() {
+        ProductSnapshot snapshot = ProductSnapshot.of(List.of());
+
+        assertThat(snapshot.isEmpty()).isTrue();
+        assertThrows(MyNotFoundException.class, () -> snapshot.require(1L));
+    }
+}
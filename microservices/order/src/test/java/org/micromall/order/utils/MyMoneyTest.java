@@ -0,0 +1,48 @@
+package org.micromall.order.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class MyMoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void sumOfLinesIsExact() {
+        MyMoney total = MyMoney.ZERO;
+        for (int i = 0; i < 1000; i++) {
+            total = total.plus(MyMoney.parse("0.10").times(3));
+        }
+
+        assertThat(total).isEqualTo(MyMoney.parse("300.00"));
+        assertThat(total.toString()).isEqualTo("300.00");
+    }
+
+    @Test
+    void parseRejectsSubCentAmounts() {
+        assertThat(MyMoney.parse("19.990")).isEqualTo(MyMoney.ofMinor(1999));
+        assertThrows(IllegalArgumentException.class, () -> MyMoney.parse("19.999"));
+        assertThrows(IllegalArgumentException.class, () -> MyMoney.parse("abc"));
+    }
+
+    @Test
+    void arithmeticFailsOnOverflow() {
+        assertThrows(ArithmeticException.class, () -> MyMoney.ofMinor(Long.MAX_VALUE).plus(MyMoney.ofMinor(1)));
+        assertThrows(ArithmeticException.class, () -> MyMoney.ofMinor(Long.MAX_VALUE / 2).times(3));
+    }
+
+    @Test
+    void jsonIsADecimalNumber() throws Exception {
+        assertThat(objectMapper.writeValueAsString(MyMoney.parse("59.97"))).isEqualTo("59.97");
+        assertThat(objectMapper.readValue("59.97", MyMoney.class)).isEqualTo(MyMoney.ofMinor(5997));
+        assertThat(objectMapper.readValue("5", MyMoney.class).toBigDecimal()).isEqualTo(new BigDecimal("5.00"));
+        assertThrows(JsonMappingException.class, () -> objectMapper.readValue("0.001", MyMoney.class));
+    }
+}